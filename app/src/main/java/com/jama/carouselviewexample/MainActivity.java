@@ -11,6 +11,7 @@ import com.jama.carouselview.CarouselOnManualSelectionListener;
 import com.jama.carouselview.CarouselView;
 import com.jama.carouselview.CarouselViewListener;
 import com.jama.carouselview.enums.OffsetType;
+import com.jama.carouselview.image.CarouselImageLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,12 +25,14 @@ public class MainActivity extends AppCompatActivity {
   int index = 0;
 
   DelayedExecutor delayedExecutor;
+  CarouselImageLoader imageLoader;
 
   @Override
   protected void onCreate(Bundle savedInstanceState) {
     super.onCreate(savedInstanceState);
     setContentView(R.layout.activity_main);
     delayedExecutor = new DelayedExecutor(200);
+    imageLoader = new CarouselImageLoader(this);
 
     carouselView = findViewById(R.id.carouselView);
 
@@ -132,13 +135,14 @@ public class MainActivity extends AppCompatActivity {
     carouselView.setResource(R.layout.center_carousel_item);
     carouselView.setCarouselOffset(OffsetType.CENTER);
     carouselView.setScaleOnScroll(true);
+    carouselView.setImageLoader(imageLoader);
     carouselView.setCarouselViewListener(new CarouselViewListener() {
       @Override
       public void onBindView(View view, int position) {
         Log.e("test", "bind " + position);
         // Example here is setting up a full image carousel
         ImageView imageView = view.findViewById(R.id.imageView);
-        imageView.setImageResource(images.get(position));
+        imageLoader.load(imageView, images.get(position));
 
 
         imageView.setOnClickListener(new View.OnClickListener() {
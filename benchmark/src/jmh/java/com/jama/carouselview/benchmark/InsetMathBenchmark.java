@@ -0,0 +1,47 @@
+package com.jama.carouselview.benchmark;
+
+import com.jama.carouselview.math.CarouselInsetMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// the insets of every child, as a layout pass asks the item decoration for them
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InsetMathBenchmark {
+
+  private static final int ITEM_COUNT = 50;
+
+  @Param({"3", "5", "9"})
+  int childCount;
+
+  private int[] firstPositions;
+  private int itemExtent;
+  private int frame;
+
+  @Setup
+  public void setUp() {
+    this.firstPositions = ScrollTrace.firstPositions(ScrollTrace.scrollOffsets(), this.childCount);
+    this.itemExtent = ScrollTrace.itemExtent(this.childCount);
+  }
+
+  @Benchmark
+  public void layoutInsets(Blackhole blackhole) {
+    int firstPosition = this.firstPositions[this.frame];
+    this.frame = (this.frame + 1) % this.firstPositions.length;
+    for (int position = firstPosition; position < firstPosition + this.childCount; position++) {
+      blackhole.consume(CarouselInsetMath.getStartInset(position, ScrollTrace.SPACING, this.itemExtent, ScrollTrace.PARENT_EXTENT));
+      blackhole.consume(CarouselInsetMath.getEndInset(position, ITEM_COUNT, ScrollTrace.SPACING, this.itemExtent, ScrollTrace.PARENT_EXTENT));
+    }
+  }
+}
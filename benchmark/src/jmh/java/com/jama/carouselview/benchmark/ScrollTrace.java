@@ -0,0 +1,58 @@
+package com.jama.carouselview.benchmark;
+
+// per frame scroll positions of a drag followed by a fling, as a 60fps carousel reports them
+final class ScrollTrace {
+
+  static final int PARENT_EXTENT = 1080;
+  static final int SPACING = 24;
+  static final int FRAME_COUNT = 120;
+
+  private static final float FRAME_SECONDS = 1 / 60.f;
+  private static final float DRAG_VELOCITY = 900.f;
+  private static final float FLING_VELOCITY = 6000.f;
+  private static final float FLING_FRICTION = 4.2f;
+
+  private ScrollTrace() {
+  }
+
+  static int[] scrollOffsets() {
+    int[] offsets = new int[FRAME_COUNT];
+    float offset = 0;
+    float velocity = DRAG_VELOCITY;
+    for (int frame = 0; frame < FRAME_COUNT; frame++) {
+      if (frame == FRAME_COUNT / 4) velocity = FLING_VELOCITY;
+      if (frame > FRAME_COUNT / 4) velocity *= 1 - FLING_FRICTION * FRAME_SECONDS;
+      offset += velocity * FRAME_SECONDS;
+      offsets[frame] = (int) offset;
+    }
+    return offsets;
+  }
+
+  // the item extent that shows the given number of children, the partly visible ones included
+  static int itemExtent(int childCount) {
+    return PARENT_EXTENT / Math.max(1, childCount - 1) - SPACING;
+  }
+
+  // the decorated child starts of every frame
+  static int[][] childStarts(int[] scrollOffsets, int childCount) {
+    int pitch = itemExtent(childCount) + SPACING;
+    int[][] starts = new int[scrollOffsets.length][childCount];
+    for (int frame = 0; frame < scrollOffsets.length; frame++) {
+      int firstStart = -(scrollOffsets[frame] % pitch);
+      for (int i = 0; i < childCount; i++) {
+        starts[frame][i] = firstStart + i * pitch;
+      }
+    }
+    return starts;
+  }
+
+  // the adapter position of the first child of every frame
+  static int[] firstPositions(int[] scrollOffsets, int childCount) {
+    int pitch = itemExtent(childCount) + SPACING;
+    int[] positions = new int[scrollOffsets.length];
+    for (int frame = 0; frame < scrollOffsets.length; frame++) {
+      positions[frame] = scrollOffsets[frame] / pitch;
+    }
+    return positions;
+  }
+}
@@ -0,0 +1,59 @@
+package com.jama.carouselview.benchmark;
+
+import com.jama.carouselview.math.CarouselSnapMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// the snap view scan and the snap position of every scrolled frame
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapMathBenchmark {
+
+  private static final int ITEM_COUNT = 50;
+
+  @Param({"3", "5", "9"})
+  int childCount;
+
+  private int[][] childStarts;
+  private int[] firstPositions;
+  private int frame;
+
+  @Setup
+  public void setUp() {
+    int[] scrollOffsets = ScrollTrace.scrollOffsets();
+    this.childStarts = ScrollTrace.childStarts(scrollOffsets, this.childCount);
+    this.firstPositions = ScrollTrace.firstPositions(scrollOffsets, this.childCount);
+  }
+
+  @Benchmark
+  public int findClosest() {
+    int[] starts = this.childStarts[this.frame];
+    this.frame = (this.frame + 1) % this.childStarts.length;
+    return CarouselSnapMath.findClosest(starts, this.childCount, 0);
+  }
+
+  @Benchmark
+  public int snapPosition() {
+    int[] starts = this.childStarts[this.frame];
+    int firstPosition = this.firstPositions[this.frame];
+    this.frame = (this.frame + 1) % this.childStarts.length;
+
+    int first = firstPosition + (starts[0] < 0 ? 1 : 0);
+    int last = firstPosition + this.childCount - 2;
+    int snapViewPosition = CarouselSnapMath.NO_POSITION;
+    if (CarouselSnapMath.needsSnap(first, last, ITEM_COUNT)) {
+      snapViewPosition = firstPosition + CarouselSnapMath.findClosest(starts, this.childCount, ScrollTrace.PARENT_EXTENT / 2);
+    }
+    return CarouselSnapMath.getSnapPosition(first, last, ITEM_COUNT, snapViewPosition);
+  }
+}
@@ -0,0 +1,48 @@
+package com.jama.carouselview.benchmark;
+
+import com.jama.carouselview.math.CarouselTransformMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// the distance and scale of every child, as transformItems runs them on each scrolled frame
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransformMathBenchmark {
+
+  @Param({"3", "5", "9"})
+  int childCount;
+
+  @Param({"true", "false"})
+  boolean isOffsetStart;
+
+  private int[][] childStarts;
+  private int itemExtent;
+  private int frame;
+
+  @Setup
+  public void setUp() {
+    this.childStarts = ScrollTrace.childStarts(ScrollTrace.scrollOffsets(), this.childCount);
+    this.itemExtent = ScrollTrace.itemExtent(this.childCount);
+  }
+
+  @Benchmark
+  public void scaleFrame(Blackhole blackhole) {
+    int[] starts = this.childStarts[this.frame];
+    this.frame = (this.frame + 1) % this.childStarts.length;
+    for (int i = 0; i < this.childCount; i++) {
+      float distance = CarouselTransformMath.getDistance(starts[i], this.itemExtent, ScrollTrace.PARENT_EXTENT, this.isOffsetStart);
+      blackhole.consume(CarouselTransformMath.getScale(distance, .40f, .28f / .40f));
+    }
+  }
+}
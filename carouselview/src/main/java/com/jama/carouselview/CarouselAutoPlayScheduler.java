@@ -0,0 +1,109 @@
+package com.jama.carouselview;
+
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.core.view.ViewCompat;
+
+class CarouselAutoPlayScheduler implements Runnable, ViewTreeObserver.OnScrollChangedListener {
+
+  private final CarouselView carouselView;
+  private final Rect visibleRect = new Rect();
+  private boolean isEnabled;
+  private boolean isDragging;
+  private boolean isClipped;
+  private boolean isScheduled;
+
+  CarouselAutoPlayScheduler(CarouselView carouselView) {
+    this.carouselView = carouselView;
+  }
+
+  void setEnabled(boolean enabled) {
+    if (this.isEnabled == enabled) return;
+    this.isEnabled = enabled;
+    this.restart();
+  }
+
+  void setDragging(boolean dragging) {
+    if (this.isDragging == dragging) return;
+    this.isDragging = dragging;
+    this.restart();
+  }
+
+  void onAttachedToWindow() {
+    this.update();
+  }
+
+  void onDetachedFromWindow() {
+    this.stopWaitingForVisibility();
+    this.cancel();
+  }
+
+  void onWindowVisibilityChanged() {
+    this.update();
+  }
+
+  // starts counting the delay from now, leaving at most one tick pending
+  void restart() {
+    this.cancel();
+    this.update();
+  }
+
+  private void update() {
+    boolean canRun = this.canRun();
+    if (canRun && !this.isScheduled) {
+      this.isScheduled = true;
+      this.carouselView.postDelayed(this, this.carouselView.getAutoPlayDelay());
+    } else if (!canRun) {
+      this.cancel();
+    }
+  }
+
+  private void cancel() {
+    if (this.isScheduled) {
+      this.isScheduled = false;
+      this.carouselView.removeCallbacks(this);
+    }
+  }
+
+  private boolean canRun() {
+    return this.isEnabled
+        && !this.isDragging
+        && !this.isClipped
+        && this.carouselView.getSize() > 1
+        && ViewCompat.isAttachedToWindow(this.carouselView)
+        && this.carouselView.getWindowVisibility() == View.VISIBLE;
+  }
+
+  @Override
+  public void run() {
+    this.isScheduled = false;
+    if (!this.canRun()) return;
+
+    if (!this.carouselView.getLocalVisibleRect(this.visibleRect)) {
+      // fully clipped out of its scrolling parent, wait until it scrolls back into view
+      this.isClipped = true;
+      this.carouselView.getViewTreeObserver().addOnScrollChangedListener(this);
+      return;
+    }
+
+    this.carouselView.showNextItem();
+    this.update();
+  }
+
+  @Override
+  public void onScrollChanged() {
+    if (this.carouselView.getLocalVisibleRect(this.visibleRect)) {
+      this.stopWaitingForVisibility();
+      this.update();
+    }
+  }
+
+  private void stopWaitingForVisibility() {
+    if (this.isClipped) {
+      this.isClipped = false;
+      this.carouselView.getViewTreeObserver().removeOnScrollChangedListener(this);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.jama.carouselview;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+public abstract class CarouselDiffCallback<T> extends DiffUtil.ItemCallback<T> {
+
+  // stable id of the item, used by the carousel adapter so changes keep the scroll position anchored
+  public abstract long getItemId(@NonNull T item);
+
+}
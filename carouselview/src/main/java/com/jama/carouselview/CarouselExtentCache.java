@@ -0,0 +1,99 @@
+package com.jama.carouselview;
+
+import android.util.SparseIntArray;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+// measured item extents by adapter position, 0 for the ones not measured yet
+class CarouselExtentCache extends RecyclerView.AdapterDataObserver {
+
+  // only the extents around the latest measured item are kept, so memory stays flat however far the carousel goes
+  static final int MAX_EXTENTS = 256;
+
+  private SparseIntArray extents = new SparseIntArray();
+
+  int get(int position) {
+    return this.extents.get(position, 0);
+  }
+
+  // returns whether the extent changed
+  boolean put(int position, int extent) {
+    if (position < 0) return false;
+    if (this.extents.get(position, 0) == extent) return false;
+    this.extents.put(position, extent);
+    this.trim(position);
+    return true;
+  }
+
+  void clear() {
+    this.extents.clear();
+  }
+
+  // drops the extents of the positions farthest from the given one, those are always at either end
+  private void trim(int position) {
+    while (this.extents.size() > MAX_EXTENTS) {
+      int last = this.extents.size() - 1;
+      if (position - this.extents.keyAt(0) > this.extents.keyAt(last) - position) {
+        this.extents.removeAt(0);
+      } else {
+        this.extents.removeAt(last);
+      }
+    }
+  }
+
+  // moves the extents from the given position on by the given shift, and drops the ones in between when it's negative
+  private void shift(int positionStart, int shift) {
+    SparseIntArray extents = new SparseIntArray(this.extents.size());
+    for (int i = 0; i < this.extents.size(); i++) {
+      int position = this.extents.keyAt(i);
+      if (position < positionStart) {
+        extents.append(position, this.extents.valueAt(i));
+      } else if (position >= positionStart - Math.min(shift, 0)) {
+        extents.append(position + shift, this.extents.valueAt(i));
+      }
+    }
+    this.extents = extents;
+  }
+
+  @Override
+  public void onChanged() {
+    this.clear();
+  }
+
+  @Override
+  public void onItemRangeChanged(int positionStart, int itemCount) {
+    for (int i = this.extents.size() - 1; i >= 0; i--) {
+      int position = this.extents.keyAt(i);
+      if (position >= positionStart && position < positionStart + itemCount) {
+        this.extents.removeAt(i);
+      }
+    }
+  }
+
+  @Override
+  public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+    this.onItemRangeChanged(positionStart, itemCount);
+  }
+
+  @Override
+  public void onItemRangeInserted(int positionStart, int itemCount) {
+    this.shift(positionStart, itemCount);
+  }
+
+  @Override
+  public void onItemRangeRemoved(int positionStart, int itemCount) {
+    this.shift(positionStart, -itemCount);
+  }
+
+  @Override
+  public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+    // recycler view only ever moves single items
+    int extent = this.get(fromPosition);
+    this.onItemRangeRemoved(fromPosition, 1);
+    this.onItemRangeInserted(toPosition, 1);
+    if (extent > 0) {
+      this.extents.put(toPosition, extent);
+    }
+  }
+}
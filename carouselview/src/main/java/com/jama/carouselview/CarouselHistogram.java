@@ -0,0 +1,75 @@
+package com.jama.carouselview;
+
+// durations counted into fixed exponential buckets, recording never allocates
+public class CarouselHistogram {
+
+  private static final long FIRST_BUCKET_NANOS = 100_000;
+  private static final int BUCKET_COUNT = 16;
+
+  private final long[] counts = new long[BUCKET_COUNT + 1];
+  private long count;
+  private long totalNanos;
+  private long maxNanos;
+
+  CarouselHistogram() {
+  }
+
+  void record(long nanos) {
+    int bucket = 0;
+    long upperBound = FIRST_BUCKET_NANOS;
+    while (bucket < BUCKET_COUNT && nanos > upperBound) {
+      bucket++;
+      upperBound <<= 1;
+    }
+    this.counts[bucket]++;
+    this.count++;
+    this.totalNanos += nanos;
+    this.maxNanos = Math.max(this.maxNanos, nanos);
+  }
+
+  void reset() {
+    for (int i = 0; i < this.counts.length; i++) {
+      this.counts[i] = 0;
+    }
+    this.count = 0;
+    this.totalNanos = 0;
+    this.maxNanos = 0;
+  }
+
+  public long getCount() {
+    return this.count;
+  }
+
+  public long getMeanNanos() {
+    return this.count > 0 ? this.totalNanos / this.count : 0;
+  }
+
+  public long getMaxNanos() {
+    return this.maxNanos;
+  }
+
+  // the upper bound of the bucket holding the given percentile, the max for the overflow bucket
+  public long getPercentileNanos(float percentile) {
+    if (this.count == 0) return 0;
+    long rank = (long) Math.ceil(this.count * percentile / 100.f);
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      seen += this.counts[bucket];
+      if (seen >= rank) return Math.min(this.maxNanos, getBucketUpperBoundNanos(bucket));
+    }
+    return this.maxNanos;
+  }
+
+  // the last bucket holds everything above the bound of the one before it
+  public int getBucketCount() {
+    return this.counts.length;
+  }
+
+  public long getBucketUpperBoundNanos(int bucket) {
+    return bucket < BUCKET_COUNT ? FIRST_BUCKET_NANOS << bucket : Long.MAX_VALUE;
+  }
+
+  public long getBucketValue(int bucket) {
+    return this.counts[bucket];
+  }
+}
@@ -0,0 +1,24 @@
+package com.jama.carouselview;
+
+// outlives the adapters of a carousel, so the counts cover every show
+class CarouselInflationCounter {
+
+  private int warmCount;
+  private int coldCount;
+
+  void onWarm() {
+    this.warmCount++;
+  }
+
+  void onCold() {
+    this.coldCount++;
+  }
+
+  int getWarmCount() {
+    return this.warmCount;
+  }
+
+  int getColdCount() {
+    return this.coldCount;
+  }
+}
@@ -6,28 +6,53 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.jama.carouselview.math.CarouselInsetMath;
+
 public class CarouselItemDecoration extends RecyclerView.ItemDecoration {
 
+  private final CarouselExtentCache extentCache;
   private int spacing;
-  private int width;
+  private int itemExtent;
+  private int orientation = RecyclerView.HORIZONTAL;
 
-  CarouselItemDecoration(int width, int spacing) {
+  CarouselItemDecoration(CarouselExtentCache extentCache, int itemExtent, int spacing) {
+    this.extentCache = extentCache;
     this.spacing = spacing;
-    this.width = width;
+    this.itemExtent = itemExtent;
+  }
+
+  void setItemExtent(int itemExtent) {
+    this.itemExtent = itemExtent;
+  }
+
+  void setOrientation(int orientation) {
+    this.orientation = orientation;
+  }
+
+  void setSpacing(int spacing) {
+    this.spacing = spacing;
+  }
+
+  int getSpacing() {
+    return this.spacing;
+  }
+
+  // the measured extent of the item, once insets are applied at all
+  private int getItemExtent(int position) {
+    if (this.itemExtent <= 0) return 0;
+    int extent = this.extentCache.get(position);
+    return extent > 0 ? extent : this.itemExtent;
   }
 
   @Override
   public void getItemOffsets(@NonNull final Rect outRect, @NonNull final View view, @NonNull final RecyclerView parent, @NonNull final RecyclerView.State state) {
     super.getItemOffsets(outRect, view, parent, state);
 
-    outRect.right = this.width > 0 ? this.spacing / 2 : this.spacing;
-    outRect.left = this.width > 0 ? this.spacing / 2 : 0;
-
-    if ((state.getItemCount() - 1 == parent.getChildLayoutPosition(view))) {
-      outRect.right = this.width > 0 ? ((parent.getMeasuredWidth() / 2) - (this.width / 2)) : 0;
-    }
-    if (parent.getChildLayoutPosition(view) == 0) {
-      outRect.left = this.width > 0 ? ((parent.getMeasuredWidth() / 2) - (this.width / 2)) : 0;
-    }
+    int position = parent.getChildLayoutPosition(view);
+    int parentExtent = CarouselOrientation.getMeasuredExtent(parent, this.orientation);
+    int itemExtent = this.getItemExtent(position);
+    int start = CarouselInsetMath.getStartInset(position, this.spacing, itemExtent, parentExtent);
+    int end = CarouselInsetMath.getEndInset(position, state.getItemCount(), this.spacing, itemExtent, parentExtent);
+    CarouselOrientation.setInsets(outRect, start, end, this.orientation);
   }
 }
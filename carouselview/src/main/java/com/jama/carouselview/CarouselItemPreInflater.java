@@ -0,0 +1,93 @@
+package com.jama.carouselview;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+
+class CarouselItemPreInflater implements MessageQueue.IdleHandler {
+
+  // warmed items beyond what a first layout needs only hold memory
+  private static final int MAX_STOCK = 10;
+
+  private final ViewGroup parent;
+  private final SparseArray<ArrayDeque<View>> stock = new SparseArray<>();
+  private final SparseIntArray pending = new SparseIntArray();
+  private boolean isScheduled;
+
+  CarouselItemPreInflater(ViewGroup parent) {
+    this.parent = parent;
+  }
+
+  void warmUp(int resource, int count) {
+    if (count <= 0) return;
+    this.pending.put(resource, this.pending.get(resource) + count);
+    if (!this.isScheduled) {
+      this.isScheduled = true;
+      Looper.myQueue().addIdleHandler(this);
+    }
+  }
+
+  void cancel() {
+    this.pending.clear();
+    this.stock.clear();
+    if (this.isScheduled) {
+      this.isScheduled = false;
+      Looper.myQueue().removeIdleHandler(this);
+    }
+  }
+
+  View take(int resource) {
+    ArrayDeque<View> views = this.stock.get(resource);
+    return views != null ? views.poll() : null;
+  }
+
+  // inflates a single item per idle pass so warming up never blocks a frame for more than one item
+  @Override
+  public boolean queueIdle() {
+    if (this.pending.size() == 0) {
+      this.isScheduled = false;
+      return false;
+    }
+
+    int resource = this.pending.keyAt(0);
+    int count = this.pending.valueAt(0) - 1;
+    if (count > 0) {
+      this.pending.put(resource, count);
+    } else {
+      this.pending.removeAt(0);
+    }
+
+    ArrayDeque<View> views = this.stock.get(resource);
+    if (views == null) {
+      views = new ArrayDeque<>();
+      this.stock.put(resource, views);
+    }
+    if (views.size() < MAX_STOCK) {
+      views.add(this.inflate(resource));
+    }
+
+    this.isScheduled = this.pending.size() > 0;
+    return this.isScheduled;
+  }
+
+  // the parent only parses the layout params, the RecyclerView can't until it has a layout manager,
+  // so they are turned into the ones the RecyclerView would have parsed from the same attributes
+  private View inflate(int resource) {
+    View view = LayoutInflater.from(this.parent.getContext()).inflate(resource, this.parent, false);
+    ViewGroup.LayoutParams params = view.getLayoutParams();
+    if (params instanceof ViewGroup.MarginLayoutParams) {
+      view.setLayoutParams(new RecyclerView.LayoutParams((ViewGroup.MarginLayoutParams) params));
+    } else if (params != null) {
+      view.setLayoutParams(new RecyclerView.LayoutParams(params));
+    }
+    return view;
+  }
+}
@@ -0,0 +1,18 @@
+package com.jama.carouselview;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+public interface CarouselItemTransformer {
+
+  // distance is the signed distance of the item center from the carousel anchor, relative to half
+  // the carousel width (centered offset) or half the item width (start offset). 0 is the anchor.
+  void transformItem(@NonNull View item, float distance);
+
+  // the carousel calls this one with its orientation, transformers that depend on the axis override it
+  default void transformItem(@NonNull View item, float distance, int orientation) {
+    this.transformItem(item, distance);
+  }
+
+}
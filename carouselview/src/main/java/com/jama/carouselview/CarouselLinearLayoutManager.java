@@ -1,15 +1,48 @@
 package com.jama.carouselview;
 
 import android.content.Context;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.util.AttributeSet;
 import android.view.View;
+import android.view.ViewGroup;
 
+import androidx.annotation.NonNull;
+import androidx.core.view.ViewCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.OrientationHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.jama.carouselview.math.CarouselTransformMath;
+
 public class CarouselLinearLayoutManager extends LinearLayoutManager {
 
   private boolean isOffsetStart;
-  private boolean scaleOnScroll = false;
+  private CarouselItemTransformer itemTransformer;
+  private int transformGeneration;
+  private CarouselOffset carouselOffset;
+  private CarouselRecycledViewPool recycledViewPool;
+  private CarouselPageTracker pageTracker;
+  private int fittedItemCount;
+  private int prefetchDistance;
+  private int extraLayoutPages;
+  private OrientationHelper helper;
+  private int flingTargetPosition = RecyclerView.NO_POSITION;
+  private OnFlingTargetListener onFlingTargetListener;
+  private final PointF scrollVector = new PointF();
+  private CarouselMetrics metrics;
+  private boolean isFixedItemSize;
+  private int fixedWidthSpec;
+  private int fixedHeightSpec;
+  private int fixedParentWidth;
+  private int fixedParentHeight;
+  private final Rect decorInsets = new Rect();
+  private CarouselState pendingState;
+  // the anchor of the last layout, for when the items are gone, e.g. recycled on detach into a shared pool
+  private int lastAnchorPosition = RecyclerView.NO_POSITION;
+  private int lastAnchorOffset;
+  private boolean isPreLayout;
+  private RecyclerView.SmoothScroller pendingSmoothScroller;
 
   CarouselLinearLayoutManager(Context context, int orientation, boolean reverseLayout) {
     super(context, orientation, reverseLayout);
@@ -17,42 +50,271 @@ public class CarouselLinearLayoutManager extends LinearLayoutManager {
 
   @Override
   public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+    this.isPreLayout = state.isPreLayout();
     super.onLayoutChildren(recycler, state);
-    scrollHorizontallyBy(0, recycler, state);
+    this.isPreLayout = false;
+    this.transformItems();
+  }
+
+  @Override
+  public void onLayoutCompleted(RecyclerView.State state) {
+    super.onLayoutCompleted(state);
+    this.pendingState = null;
+    if (this.pendingSmoothScroller != null) {
+      RecyclerView.SmoothScroller smoothScroller = this.pendingSmoothScroller;
+      this.pendingSmoothScroller = null;
+      startSmoothScroll(smoothScroller);
+    }
+    if (state.getItemCount() == 0) {
+      this.lastAnchorPosition = RecyclerView.NO_POSITION;
+    } else {
+      this.rememberAnchor();
+    }
+    if (this.pageTracker != null) {
+      this.pageTracker.invalidate();
+    }
+    int childCount = getChildCount();
+    if (this.recycledViewPool != null && childCount > this.fittedItemCount) {
+      this.fittedItemCount = childCount;
+      setInitialPrefetchItemCount(childCount);
+      for (int i = 0; i < childCount; i++) {
+        this.recycledViewPool.fitVisibleItemCount(getItemViewType(getChildAt(i)), childCount);
+      }
+    }
+  }
+
+  @Override
+  public void measureChildWithMargins(@NonNull View child, int widthUsed, int heightUsed) {
+    if (this.hasFixedMeasureSpecs()) {
+      // the decorations still set the insets of every item, only its own size is the one of the first
+      calculateItemDecorationsForChild(child, this.decorInsets);
+      child.measure(this.fixedWidthSpec, this.fixedHeightSpec);
+    } else {
+      super.measureChildWithMargins(child, widthUsed, heightUsed);
+      if (this.isFixedItemSize) {
+        this.fixedWidthSpec = View.MeasureSpec.makeMeasureSpec(child.getMeasuredWidth(), View.MeasureSpec.EXACTLY);
+        this.fixedHeightSpec = View.MeasureSpec.makeMeasureSpec(child.getMeasuredHeight(), View.MeasureSpec.EXACTLY);
+        this.fixedParentWidth = getWidth();
+        this.fixedParentHeight = getHeight();
+      }
+    }
+    if (this.carouselOffset != null) {
+      this.carouselOffset.onItemMeasured(child, this.isPreLayout);
+    }
+  }
+
+  private boolean hasFixedMeasureSpecs() {
+    return this.isFixedItemSize && this.fixedWidthSpec != 0 && this.fixedParentWidth == getWidth() && this.fixedParentHeight == getHeight();
+  }
+
+  // the next layout pass starts at the restored anchor, like it does for any pending scroll
+  void setState(CarouselState state) {
+    this.pendingState = state;
+    scrollToPositionWithOffset(state.getAnchorPosition(), state.getAnchorOffset());
+  }
+
+  CarouselState getState(int currentItem) {
+    if (this.pendingState != null) return this.pendingState;
+    this.rememberAnchor();
+    if (this.lastAnchorPosition == RecyclerView.NO_POSITION) return null;
+    return new CarouselState(this.lastAnchorPosition, this.lastAnchorOffset, currentItem);
+  }
+
+  private void rememberAnchor() {
+    if (getChildCount() == 0) return;
+
+    View child = getChildAt(0);
+    OrientationHelper helper = this.helper();
+    this.lastAnchorPosition = getPosition(child);
+    this.lastAnchorOffset = helper.getDecoratedStart(child) - helper.getStartAfterPadding();
+  }
+
+  @Override
+  public void onDetachedFromWindow(RecyclerView view, RecyclerView.Recycler recycler) {
+    // with recycle children on detach the items are removed right after this
+    this.rememberAnchor();
+    this.pendingSmoothScroller = null;
+    super.onDetachedFromWindow(view, recycler);
+  }
+
+  // starts the scroller once the next layout is done, e.g. one that lays out the position jumped to
+  void startSmoothScrollAfterLayout(RecyclerView.SmoothScroller smoothScroller) {
+    this.pendingSmoothScroller = smoothScroller;
+  }
+
+  void setFixedItemSize(boolean isFixedItemSize) {
+    this.isFixedItemSize = isFixedItemSize;
+    this.fixedWidthSpec = 0;
+    this.fixedHeightSpec = 0;
+  }
+
+  boolean isFixedItemSize() {
+    return this.isFixedItemSize;
+  }
+
+  // with items of the same size the scroll follows from the tracked position instead of the laid out children
+  private boolean canComputeScroll() {
+    return this.isFixedItemSize && this.pageTracker != null && this.pageTracker.isValid();
+  }
+
+  @Override
+  public int computeHorizontalScrollOffset(@NonNull RecyclerView.State state) {
+    return this.canComputeScroll() ? this.pageTracker.getScrollOffset() : super.computeHorizontalScrollOffset(state);
+  }
+
+  @Override
+  public int computeVerticalScrollOffset(@NonNull RecyclerView.State state) {
+    return this.canComputeScroll() ? this.pageTracker.getScrollOffset() : super.computeVerticalScrollOffset(state);
+  }
+
+  @Override
+  public int computeHorizontalScrollRange(@NonNull RecyclerView.State state) {
+    return this.canComputeScroll() ? this.pageTracker.getScrollRange() : super.computeHorizontalScrollRange(state);
+  }
+
+  @Override
+  public int computeVerticalScrollRange(@NonNull RecyclerView.State state) {
+    return this.canComputeScroll() ? this.pageTracker.getScrollRange() : super.computeVerticalScrollRange(state);
+  }
+
+  @Override
+  public int computeHorizontalScrollExtent(@NonNull RecyclerView.State state) {
+    return this.canComputeScroll() ? this.pageTracker.getScrollExtent() : super.computeHorizontalScrollExtent(state);
+  }
+
+  @Override
+  public int computeVerticalScrollExtent(@NonNull RecyclerView.State state) {
+    return this.canComputeScroll() ? this.pageTracker.getScrollExtent() : super.computeVerticalScrollExtent(state);
   }
 
   @Override
   public int scrollHorizontallyBy(int dx, RecyclerView.Recycler recycler, RecyclerView.State state) {
     int scrolled = super.scrollHorizontallyBy(dx, recycler, state);
-    if (this.scaleOnScroll) {
+    this.transformItems();
+    return scrolled;
+  }
+
+  @Override
+  public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
+    int scrolled = super.scrollVerticallyBy(dy, recycler, state);
+    this.transformItems();
+    return scrolled;
+  }
+
+  @Override
+  public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state, LayoutPrefetchRegistry layoutPrefetchRegistry) {
+    super.collectAdjacentPrefetchPositions(dx, dy, state, layoutPrefetchRegistry);
+
+    int delta = CarouselOrientation.select(dx, dy, getOrientation());
+    boolean hasFlingTarget = this.flingTargetPosition != RecyclerView.NO_POSITION;
+    if ((this.prefetchDistance <= 1 && !hasFlingTarget) || delta == 0 || getChildCount() == 0) return;
+
+    OrientationHelper helper = this.helper();
+    boolean isForward = delta > 0;
+    View edge = getChildAt(isForward ? getChildCount() - 1 : 0);
+    int edgePosition = getPosition(edge);
+    int edgeDistance = isForward ? helper.getDecoratedEnd(edge) - helper.getEndAfterPadding() : helper.getStartAfterPadding() - helper.getDecoratedStart(edge);
+    int itemExtent = helper.getDecoratedMeasurement(edge);
+
+    // the default prefetch already registered the item right after the edge
+    for (int i = 2; i <= this.prefetchDistance; i++) {
+      int position = isForward ? edgePosition + i : edgePosition - i;
+      if (position < 0 || position >= state.getItemCount()) break;
+      layoutPrefetchRegistry.addPosition(position, Math.max(0, edgeDistance + (i - 1) * itemExtent));
+    }
+
+    // the landing item of a fling and its neighbours, prefetching skips the ones already laid out
+    if (hasFlingTarget) {
+      for (int position = this.flingTargetPosition - 1; position <= this.flingTargetPosition + 1; position++) {
+        if (position < 0 || position >= state.getItemCount()) continue;
+        int items = Math.abs(position - edgePosition) - 1;
+        layoutPrefetchRegistry.addPosition(position, Math.max(0, edgeDistance + items * itemExtent));
+      }
+    }
+  }
+
+  // same as LinearLayoutManager but reused, smooth scrollers only read it or normalize it in place
+  @Override
+  public PointF computeScrollVectorForPosition(int targetPosition) {
+    if (getChildCount() == 0) return null;
+
+    int orientation = getOrientation();
+    boolean isLayoutRtl = orientation == RecyclerView.HORIZONTAL && getLayoutDirection() == ViewCompat.LAYOUT_DIRECTION_RTL;
+    boolean isBefore = targetPosition < getPosition(getChildAt(0));
+    int direction = isBefore != (getReverseLayout() != isLayoutRtl) ? -1 : 1;
+    this.scrollVector.set(CarouselOrientation.select(direction, 0, orientation), CarouselOrientation.select(0, direction, orientation));
+    return this.scrollVector;
+  }
 
-      for (int i = 0; i < getChildCount(); i++) {
-        View child = getChildAt(i);
+  @Override
+  public void onScrollStateChanged(int state) {
+    super.onScrollStateChanged(state);
+    if (state == RecyclerView.SCROLL_STATE_IDLE) {
+      this.flingTargetPosition = RecyclerView.NO_POSITION;
+    }
+  }
 
-        float childWidth = child.getRight() - child.getLeft();
-        float childWidthHalf = childWidth / 2.f;
-        float childCenter = child.getLeft() + childWidthHalf;
+  @Override
+  protected void calculateExtraLayoutSpace(@NonNull RecyclerView.State state, @NonNull int[] extraLayoutSpace) {
+    super.calculateExtraLayoutSpace(state, extraLayoutSpace);
+    if (this.extraLayoutPages > 0 && this.carouselOffset != null) {
+      extraLayoutSpace[1] = Math.max(extraLayoutSpace[1], this.extraLayoutPages * this.carouselOffset.getItemPitch());
+    }
+  }
 
-        float parentWidth = this.isOffsetStart ? childWidth : getWidth();
-        float parentWidthHalf = parentWidth / 2.f;
+  @Override
+  public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+    return new CarouselLayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+  }
 
-        float d0 = 0.f;
-        float mShrinkDistance = .40f;
-        float d1 = mShrinkDistance * parentWidthHalf;
-        float s0 = 1.f;
-        float mShrinkAmount = 0.28f;
-        float s1 = 1.f - mShrinkAmount;
+  @Override
+  public RecyclerView.LayoutParams generateLayoutParams(Context context, AttributeSet attrs) {
+    return new CarouselLayoutParams(context, attrs);
+  }
+
+  @Override
+  public RecyclerView.LayoutParams generateLayoutParams(ViewGroup.LayoutParams lp) {
+    if (lp instanceof RecyclerView.LayoutParams) {
+      return new CarouselLayoutParams((RecyclerView.LayoutParams) lp);
+    } else if (lp instanceof ViewGroup.MarginLayoutParams) {
+      return new CarouselLayoutParams((ViewGroup.MarginLayoutParams) lp);
+    }
+    return new CarouselLayoutParams(lp);
+  }
+
+  @Override
+  public boolean checkLayoutParams(RecyclerView.LayoutParams lp) {
+    return lp instanceof CarouselLayoutParams;
+  }
+
+  private void transformItems() {
+    if (this.itemTransformer == null) {
+      this.resetItems();
+      return;
+    }
+    long start = this.metrics != null ? System.nanoTime() : 0;
 
-        float d = Math.min(d1, Math.abs(parentWidthHalf - childCenter));
+    int orientation = getOrientation();
+    int parentExtent = CarouselOrientation.select(getWidth(), getHeight(), orientation);
+    for (int i = 0; i < getChildCount(); i++) {
+      View child = getChildAt(i);
 
-        float position = s0 + (s1 - s0) * (d - d0) / (d1 - d0);
+      float distance = CarouselTransformMath.getDistance(CarouselOrientation.getStart(child, orientation), CarouselOrientation.getExtent(child, orientation), parentExtent, this.isOffsetStart);
+      if (Float.isNaN(distance)) continue;
 
-        child.setScaleX(position);
-        child.setScaleY(position);
+      CarouselLayoutParams lp = (CarouselLayoutParams) child.getLayoutParams();
+      if (lp.transformGeneration == this.transformGeneration && lp.transformDistance == distance) continue;
+
+      if (lp.transformGeneration != this.transformGeneration) {
+        // the item may still carry what an earlier transformer set, e.g. when it comes back from the view cache
+        resetItem(child);
       }
-      return scrolled;
-    } else {
-      return scrolled;
+      lp.transformGeneration = this.transformGeneration;
+      lp.transformDistance = distance;
+      this.itemTransformer.transformItem(child, distance, orientation);
+    }
+    if (this.metrics != null) {
+      this.metrics.onTransformed(System.nanoTime() - start);
     }
   }
 
@@ -60,8 +322,127 @@ public class CarouselLinearLayoutManager extends LinearLayoutManager {
     this.isOffsetStart = isOffsetStart;
   }
 
-  void setScaleOnScroll(boolean scaleOnScroll) {
-    this.scaleOnScroll = scaleOnScroll;
+  void setItemTransformer(CarouselItemTransformer itemTransformer) {
+    this.itemTransformer = itemTransformer;
+    this.transformGeneration++;
+  }
+
+  CarouselItemTransformer getItemTransformer() {
+    return this.itemTransformer;
+  }
+
+  // without a transformer, items laid out since it changed get back their untransformed state once
+  private void resetItems() {
+    for (int i = 0; i < getChildCount(); i++) {
+      View child = getChildAt(i);
+      CarouselLayoutParams lp = (CarouselLayoutParams) child.getLayoutParams();
+      if (lp.transformGeneration == this.transformGeneration) continue;
+
+      lp.transformGeneration = this.transformGeneration;
+      resetItem(child);
+    }
+  }
+
+  // a pooled item may be taken by any carousel, whose generations have nothing to do with the ones of this one
+  static void onItemRecycled(View child) {
+    resetItem(child);
+    if (child.getLayoutParams() instanceof CarouselLayoutParams) {
+      ((CarouselLayoutParams) child.getLayoutParams()).transformGeneration = CarouselLayoutParams.NO_GENERATION;
+    }
+  }
+
+  // undoes what any of the transformers sets
+  static void resetItem(View child) {
+    child.setAlpha(1.f);
+    child.setScaleX(1.f);
+    child.setScaleY(1.f);
+    child.setRotationX(0.f);
+    child.setRotationY(0.f);
+    child.setTranslationX(0.f);
+    child.setTranslationY(0.f);
+    ViewCompat.setElevation(child, 0.f);
+  }
+
+  void setCarouselOffset(CarouselOffset carouselOffset) {
+    this.carouselOffset = carouselOffset;
+  }
+
+  void setMetrics(CarouselMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  void setPrefetchDistance(int prefetchDistance) {
+    this.prefetchDistance = prefetchDistance;
+  }
+
+  // keeps the given number of items after the last visible one laid out, and so bound
+  void setExtraLayoutPages(int extraLayoutPages) {
+    this.extraLayoutPages = extraLayoutPages;
+  }
+
+  private OrientationHelper helper() {
+    if (this.helper == null) {
+      this.helper = CarouselOrientation.createHelper(this);
+    }
+    return this.helper;
+  }
+
+  void setFlingTargetPosition(int flingTargetPosition) {
+    this.flingTargetPosition = flingTargetPosition;
+    if (this.onFlingTargetListener != null) {
+      this.onFlingTargetListener.onFlingTargetPredicted(flingTargetPosition);
+    }
+  }
+
+  int getFlingTargetPosition() {
+    return this.flingTargetPosition;
+  }
+
+  void setOnFlingTargetListener(OnFlingTargetListener onFlingTargetListener) {
+    this.onFlingTargetListener = onFlingTargetListener;
+  }
+
+  void setPageTracker(CarouselPageTracker pageTracker) {
+    this.pageTracker = pageTracker;
+  }
+
+  void setRecycledViewPool(CarouselRecycledViewPool recycledViewPool) {
+    this.recycledViewPool = recycledViewPool;
+    this.fittedItemCount = 0;
+  }
+
+  interface OnFlingTargetListener {
+
+    void onFlingTargetPredicted(int position);
+
+  }
+
+  static class CarouselLayoutParams extends RecyclerView.LayoutParams {
+
+    static final int NO_GENERATION = -1;
+
+    private int transformGeneration = NO_GENERATION;
+    private float transformDistance;
+
+    CarouselLayoutParams(Context context, AttributeSet attrs) {
+      super(context, attrs);
+    }
+
+    CarouselLayoutParams(int width, int height) {
+      super(width, height);
+    }
+
+    CarouselLayoutParams(ViewGroup.MarginLayoutParams source) {
+      super(source);
+    }
+
+    CarouselLayoutParams(ViewGroup.LayoutParams source) {
+      super(source);
+    }
+
+    CarouselLayoutParams(RecyclerView.LayoutParams source) {
+      super(source);
+    }
   }
 
 }
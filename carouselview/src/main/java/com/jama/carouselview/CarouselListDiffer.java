@@ -0,0 +1,68 @@
+package com.jama.carouselview;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+class CarouselListDiffer implements ListUpdateCallback {
+
+  private final CarouselDiffCallback<Object> diffCallback;
+  private final AsyncListDiffer<Object> differ;
+  private RecyclerView.Adapter<?> adapter;
+
+  @SuppressWarnings("unchecked")
+  CarouselListDiffer(CarouselDiffCallback<?> diffCallback, @Nullable Executor backgroundExecutor) {
+    this.diffCallback = (CarouselDiffCallback<Object>) diffCallback;
+    AsyncDifferConfig.Builder<Object> config = new AsyncDifferConfig.Builder<>(this.diffCallback);
+    if (backgroundExecutor != null) {
+      config.setBackgroundThreadExecutor(backgroundExecutor);
+    }
+    this.differ = new AsyncListDiffer<>(this, config.build());
+  }
+
+  void setAdapter(RecyclerView.Adapter<?> adapter) {
+    this.adapter = adapter;
+  }
+
+  @SuppressWarnings("unchecked")
+  void submitList(@Nullable List<?> list, @Nullable Runnable commitCallback) {
+    this.differ.submitList((List<Object>) list, commitCallback);
+  }
+
+  List<Object> getCurrentList() {
+    return this.differ.getCurrentList();
+  }
+
+  int getItemCount() {
+    return this.differ.getCurrentList().size();
+  }
+
+  long getItemId(int position) {
+    return this.diffCallback.getItemId(this.differ.getCurrentList().get(position));
+  }
+
+  @Override
+  public void onInserted(int position, int count) {
+    if (this.adapter != null) this.adapter.notifyItemRangeInserted(position, count);
+  }
+
+  @Override
+  public void onRemoved(int position, int count) {
+    if (this.adapter != null) this.adapter.notifyItemRangeRemoved(position, count);
+  }
+
+  @Override
+  public void onMoved(int fromPosition, int toPosition) {
+    if (this.adapter != null) this.adapter.notifyItemMoved(fromPosition, toPosition);
+  }
+
+  @Override
+  public void onChanged(int position, int count, @Nullable Object payload) {
+    if (this.adapter != null) this.adapter.notifyItemRangeChanged(position, count, payload);
+  }
+}
@@ -0,0 +1,162 @@
+package com.jama.carouselview;
+
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+public class CarouselMetrics implements Choreographer.FrameCallback {
+
+  private static final float DEFAULT_REFRESH_RATE = 60.f;
+  // a frame that takes more than one and a half vsync periods is janky
+  private static final float JANK_FACTOR = 1.5f;
+
+  private final CarouselHistogram bindDurations = new CarouselHistogram();
+  private final CarouselHistogram inflateDurations = new CarouselHistogram();
+  private final CarouselHistogram transformDurations = new CarouselHistogram();
+  private final CarouselHistogram flingDurations = new CarouselHistogram();
+  private final CarouselHistogram frameDurations = new CarouselHistogram();
+  private long poolHitCount;
+  private long poolMissCount;
+  private long jankyFrameCount;
+  private long droppedFrameCount;
+
+  private int scrollState = RecyclerView.SCROLL_STATE_IDLE;
+  private long flingStartNanos;
+  private long lastFrameNanos;
+  private long framePeriodNanos;
+  private boolean isWatchingFrames;
+
+  CarouselMetrics() {
+  }
+
+  void onInflated(long nanos) {
+    this.inflateDurations.record(nanos);
+  }
+
+  // rebinds of holders that neither were just created nor came from the pool, e.g. payload updates, count for neither
+  void onBound(long nanos, boolean isCreated, boolean isRecycled) {
+    this.bindDurations.record(nanos);
+    if (isCreated) {
+      this.poolMissCount++;
+    } else if (isRecycled) {
+      this.poolHitCount++;
+    }
+  }
+
+  void onTransformed(long nanos) {
+    this.transformDurations.record(nanos);
+  }
+
+  void onScrollStateChanged(View view, int newState) {
+    if (newState == RecyclerView.SCROLL_STATE_SETTLING && this.scrollState == RecyclerView.SCROLL_STATE_DRAGGING) {
+      this.flingStartNanos = System.nanoTime();
+    } else if (newState == RecyclerView.SCROLL_STATE_IDLE && this.flingStartNanos != 0) {
+      this.flingDurations.record(System.nanoTime() - this.flingStartNanos);
+      this.flingStartNanos = 0;
+    }
+    this.scrollState = newState;
+
+    if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+      this.stopWatchingFrames();
+    } else {
+      this.startWatchingFrames(view);
+    }
+  }
+
+  void stopWatchingFrames() {
+    if (this.isWatchingFrames) {
+      this.isWatchingFrames = false;
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+  }
+
+  private void startWatchingFrames(View view) {
+    if (this.isWatchingFrames) return;
+    Display display = view.getDisplay();
+    float refreshRate = display != null && display.getRefreshRate() > 0 ? display.getRefreshRate() : DEFAULT_REFRESH_RATE;
+    this.framePeriodNanos = (long) (1_000_000_000L / refreshRate);
+    this.lastFrameNanos = 0;
+    this.isWatchingFrames = true;
+    Choreographer.getInstance().postFrameCallback(this);
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    if (!this.isWatchingFrames) return;
+    if (this.lastFrameNanos != 0) {
+      long duration = frameTimeNanos - this.lastFrameNanos;
+      this.frameDurations.record(duration);
+      if (duration > this.framePeriodNanos * JANK_FACTOR) {
+        this.jankyFrameCount++;
+        this.droppedFrameCount += Math.round(duration / (double) this.framePeriodNanos) - 1;
+      }
+    }
+    this.lastFrameNanos = frameTimeNanos;
+    Choreographer.getInstance().postFrameCallback(this);
+  }
+
+  public CarouselHistogram getBindDurations() {
+    return this.bindDurations;
+  }
+
+  public CarouselHistogram getInflateDurations() {
+    return this.inflateDurations;
+  }
+
+  public long getInflateCount() {
+    return this.inflateDurations.getCount();
+  }
+
+  public CarouselHistogram getTransformDurations() {
+    return this.transformDurations;
+  }
+
+  // from the end of a drag that turned into a fling until the carousel is idle again
+  public CarouselHistogram getFlingDurations() {
+    return this.flingDurations;
+  }
+
+  // time between the frames drawn while scrolling
+  public CarouselHistogram getFrameDurations() {
+    return this.frameDurations;
+  }
+
+  public long getPoolHitCount() {
+    return this.poolHitCount;
+  }
+
+  public long getPoolMissCount() {
+    return this.poolMissCount;
+  }
+
+  public float getPoolHitRatio() {
+    long total = this.poolHitCount + this.poolMissCount;
+    return total > 0 ? this.poolHitCount / (float) total : 0;
+  }
+
+  public long getFrameCount() {
+    return this.frameDurations.getCount();
+  }
+
+  public long getJankyFrameCount() {
+    return this.jankyFrameCount;
+  }
+
+  public long getDroppedFrameCount() {
+    return this.droppedFrameCount;
+  }
+
+  public void reset() {
+    this.bindDurations.reset();
+    this.inflateDurations.reset();
+    this.transformDurations.reset();
+    this.flingDurations.reset();
+    this.frameDurations.reset();
+    this.poolHitCount = 0;
+    this.poolMissCount = 0;
+    this.jankyFrameCount = 0;
+    this.droppedFrameCount = 0;
+  }
+}
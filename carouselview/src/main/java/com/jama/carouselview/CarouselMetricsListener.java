@@ -0,0 +1,8 @@
+package com.jama.carouselview;
+
+public interface CarouselMetricsListener {
+
+  // called whenever the carousel settles after a scroll, with the metrics aggregated since the last reset
+  void onMetricsUpdated(CarouselMetrics metrics);
+
+}
@@ -0,0 +1,219 @@
+package com.jama.carouselview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+class CarouselModelCache extends RecyclerView.AdapterDataObserver {
+
+  // payload of the rebind that swaps a placeholder for the prepared model
+  static final Object PREPARED = new Object();
+
+  private static Executor sharedExecutor;
+
+  private final CarouselPreparedViewListener<Object> listener;
+  private final Executor executor;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final SparseArray<Object> models = new SparseArray<>();
+  private final SparseBooleanArray preparing = new SparseBooleanArray();
+  private final SparseBooleanArray waiting = new SparseBooleanArray();
+  private RecyclerView.Adapter<?> adapter;
+  private int anchor = RecyclerView.NO_POSITION;
+  private int window = 2;
+  private int generation;
+
+  @SuppressWarnings("unchecked")
+  CarouselModelCache(CarouselPreparedViewListener<?> listener, @Nullable Executor executor) {
+    this.listener = (CarouselPreparedViewListener<Object>) listener;
+    this.executor = executor != null ? executor : getSharedExecutor();
+  }
+
+  private static synchronized Executor getSharedExecutor() {
+    if (sharedExecutor == null) {
+      sharedExecutor = Executors.newSingleThreadExecutor();
+    }
+    return sharedExecutor;
+  }
+
+  void setAdapter(RecyclerView.Adapter<?> adapter) {
+    if (this.adapter != null) {
+      this.adapter.unregisterAdapterDataObserver(this);
+    }
+    this.adapter = adapter;
+    this.adapter.registerAdapterDataObserver(this);
+    this.anchor = RecyclerView.NO_POSITION;
+    this.clear();
+  }
+
+  void setWindow(int window) {
+    this.window = window;
+  }
+
+  // keeps the models of the items within the window around the anchor, nearest first
+  void setAnchor(int anchor) {
+    if (anchor == this.anchor || anchor == RecyclerView.NO_POSITION) return;
+    this.anchor = anchor;
+
+    for (int i = this.models.size() - 1; i >= 0; i--) {
+      if (!this.isInWindow(this.models.keyAt(i))) {
+        this.models.removeAt(i);
+      }
+    }
+    this.prepareWindow();
+  }
+
+  void bind(View view, int position) {
+    Object model = this.models.get(position);
+    if (model != null) {
+      this.waiting.delete(position);
+      this.listener.apply(view, position, model);
+    } else {
+      this.waiting.put(position, true);
+      this.listener.applyPlaceholder(view, position);
+      this.prepare(position);
+    }
+  }
+
+  // a recycled item is bound from scratch when it's used again, so it no longer waits for its model
+  void onRecycled(int position) {
+    if (position != RecyclerView.NO_POSITION) {
+      this.waiting.delete(position);
+    }
+  }
+
+  private void prepareWindow() {
+    if (this.anchor == RecyclerView.NO_POSITION) return;
+    for (int distance = 0; distance <= this.window; distance++) {
+      this.prepare(this.anchor + distance);
+      if (distance > 0) this.prepare(this.anchor - distance);
+    }
+  }
+
+  private void prepare(int position) {
+    if (this.adapter == null || position < 0 || position >= this.adapter.getItemCount()) return;
+    if (this.models.get(position) != null || this.preparing.get(position)) return;
+
+    this.preparing.put(position, true);
+    int generation = this.generation;
+    this.executor.execute(() -> {
+      Object model;
+      try {
+        model = this.listener.prepare(position);
+      } catch (RuntimeException e) {
+        // the position is prepared again the next time it's bound or comes into the window
+        model = null;
+      }
+      Object prepared = model;
+      this.mainHandler.post(() -> this.onPrepared(generation, position, prepared));
+    });
+  }
+
+  private void onPrepared(int generation, int position, Object model) {
+    if (generation != this.generation) return;
+    this.preparing.delete(position);
+    if (model == null) return;
+
+    boolean isWaiting = this.waiting.get(position);
+    if (!isWaiting && !this.isInWindow(position)) return;
+
+    this.models.put(position, model);
+    if (isWaiting) {
+      this.waiting.delete(position);
+      this.adapter.notifyItemChanged(position, PREPARED);
+    }
+  }
+
+  private boolean isInWindow(int position) {
+    return Math.abs(position - this.anchor) <= this.window;
+  }
+
+  // prepares in flight may belong to items that moved or changed, so they are dropped and asked again
+  private void restart() {
+    this.generation++;
+    this.preparing.clear();
+    for (int i = 0; i < this.waiting.size(); i++) {
+      this.prepare(this.waiting.keyAt(i));
+    }
+    this.prepareWindow();
+  }
+
+  private void clear() {
+    this.models.clear();
+    this.waiting.clear();
+    this.restart();
+  }
+
+  // moves the models and waiting items along with the adapter positions, dropping the removed ones
+  private void remap(PositionMapper mapper) {
+    SparseArray<Object> models = this.models.clone();
+    SparseBooleanArray waiting = this.waiting.clone();
+    this.models.clear();
+    this.waiting.clear();
+    for (int i = 0; i < models.size(); i++) {
+      int position = mapper.map(models.keyAt(i));
+      if (position != RecyclerView.NO_POSITION) this.models.put(position, models.valueAt(i));
+    }
+    for (int i = 0; i < waiting.size(); i++) {
+      int position = mapper.map(waiting.keyAt(i));
+      if (position != RecyclerView.NO_POSITION) this.waiting.put(position, true);
+    }
+    this.restart();
+  }
+
+  @Override
+  public void onChanged() {
+    this.clear();
+  }
+
+  @Override
+  public void onItemRangeChanged(int positionStart, int itemCount) {
+    this.onItemRangeChanged(positionStart, itemCount, null);
+  }
+
+  @Override
+  public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+    if (payload == PREPARED) return;
+    for (int position = positionStart; position < positionStart + itemCount; position++) {
+      this.models.delete(position);
+    }
+    this.restart();
+  }
+
+  @Override
+  public void onItemRangeInserted(int positionStart, int itemCount) {
+    this.remap(position -> position >= positionStart ? position + itemCount : position);
+  }
+
+  @Override
+  public void onItemRangeRemoved(int positionStart, int itemCount) {
+    this.remap(position -> {
+      if (position < positionStart) return position;
+      return position >= positionStart + itemCount ? position - itemCount : RecyclerView.NO_POSITION;
+    });
+  }
+
+  @Override
+  public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+    // recycler view only ever moves single items
+    this.remap(position -> {
+      if (position == fromPosition) return toPosition;
+      if (fromPosition < toPosition && position > fromPosition && position <= toPosition) return position - 1;
+      if (toPosition < fromPosition && position >= toPosition && position < fromPosition) return position + 1;
+      return position;
+    });
+  }
+
+  private interface PositionMapper {
+
+    int map(int position);
+
+  }
+}
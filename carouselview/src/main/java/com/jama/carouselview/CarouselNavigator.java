@@ -0,0 +1,158 @@
+package com.jama.carouselview;
+
+import android.view.View;
+
+import androidx.recyclerview.widget.LinearSmoothScroller;
+import androidx.recyclerview.widget.OrientationHelper;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.SnapHelper;
+
+class CarouselNavigator {
+
+  // the farthest the target may be from the jump position, close enough to be laid out by the jump
+  private static final int MAX_SCROLL_DISTANCE = 2;
+  private static final float MILLISECONDS_PER_INCH = 100f;
+  // the default interpolator of RecyclerView is (t - 1)^5 + 1, which starts at 5 times its average speed,
+  // so a snap that starts at the speed of MILLISECONDS_PER_INCH takes 5 times as long as a linear one
+  private static final int QUINTIC_START_SPEED = 5;
+  private static final int MAX_SNAP_DURATION_MS = 1000;
+
+  private final RecyclerView recyclerView;
+  private final CarouselOffset carouselOffset;
+  private final CarouselPageTracker pageTracker;
+  private CarouselLinearLayoutManager layoutManager;
+  private SnapHelper snapHelper;
+
+  CarouselNavigator(RecyclerView recyclerView, CarouselOffset carouselOffset, CarouselPageTracker pageTracker) {
+    this.recyclerView = recyclerView;
+    this.carouselOffset = carouselOffset;
+    this.pageTracker = pageTracker;
+  }
+
+  void init(CarouselLinearLayoutManager layoutManager, SnapHelper snapHelper) {
+    this.layoutManager = layoutManager;
+    this.snapHelper = snapHelper;
+    if (snapHelper instanceof CarouselSnapHelper) {
+      ((CarouselSnapHelper) snapHelper).setNavigator(this);
+    } else if (snapHelper instanceof CustomLinearSnapHelper) {
+      ((CustomLinearSnapHelper) snapHelper).setNavigator(this);
+    }
+  }
+
+  CarouselOffset getCarouselOffset() {
+    return this.carouselOffset;
+  }
+
+  boolean isTracking() {
+    return this.layoutManager != null && this.pageTracker.isValid();
+  }
+
+  // with items of the same size the snapped item follows from the tracked scroll, without looking at every child
+  boolean canFindSnapView() {
+    return this.carouselOffset.isFixedItemSize() && this.isTracking();
+  }
+
+  View findSnapView() {
+    return this.layoutManager.findViewByPosition(this.pageTracker.getSnapPosition());
+  }
+
+  // scrolls by the tracked item pitch, so snapping needs neither a smooth scroller nor the target laid out
+  boolean smoothScrollToSnapPosition(int targetPosition) {
+    if (!this.isTracking()) return false;
+
+    int distance = this.pageTracker.getDistanceTo(targetPosition);
+    if (distance == 0) return true;
+
+    float millisecondsPerPixel = MILLISECONDS_PER_INCH / this.recyclerView.getResources().getDisplayMetrics().densityDpi;
+    int duration = (int) Math.ceil(Math.abs(distance) * millisecondsPerPixel * QUINTIC_START_SPEED);
+    duration = Math.max(1, Math.min(MAX_SNAP_DURATION_MS, duration));
+
+    // the default interpolator is the one flings use, so the scroller of RecyclerView is kept
+    int orientation = this.layoutManager.getOrientation();
+    this.recyclerView.smoothScrollBy(CarouselOrientation.select(distance, 0, orientation), CarouselOrientation.select(0, distance, orientation), null, duration);
+    return true;
+  }
+
+  // brings the given position to the anchor without animating, e.g. after the anchor moved
+  void scrollTo(int position) {
+    if (this.layoutManager == null || position < 0 || position >= this.layoutManager.getItemCount()) return;
+    this.layoutManager.startSmoothScrollAfterLayout(null);
+    this.layoutManager.scrollToPositionWithOffset(position, this.getSnapOffset(position));
+  }
+
+  void smoothScrollTo(int fromPosition, int targetPosition) {
+    if (this.layoutManager == null) return;
+    this.layoutManager.startSmoothScrollAfterLayout(null);
+
+    View targetView = this.layoutManager.findViewByPosition(targetPosition);
+    if (targetView != null) {
+      this.smoothScrollToView(targetView);
+      return;
+    }
+
+    if (this.isTracking() && Math.abs(targetPosition - this.pageTracker.getPosition()) <= MAX_SCROLL_DISTANCE) {
+      this.smoothScrollToSnapPosition(targetPosition);
+      return;
+    }
+
+    SnapSmoothScroller scroller = new SnapSmoothScroller();
+    scroller.setTargetPosition(targetPosition);
+
+    int distance = targetPosition - fromPosition;
+    if (this.carouselOffset.getItemExtent() > 0 && Math.abs(distance) > MAX_SCROLL_DISTANCE) {
+      int jumpPosition = targetPosition - (distance > 0 ? MAX_SCROLL_DISTANCE : -MAX_SCROLL_DISTANCE);
+      jumpPosition = Math.max(0, Math.min(this.layoutManager.getItemCount() - 1, jumpPosition));
+      this.layoutManager.scrollToPositionWithOffset(jumpPosition, this.getSnapOffset(jumpPosition));
+      // started in the same frame, the scroller would seek the target from the items laid out before the jump
+      this.layoutManager.startSmoothScrollAfterLayout(scroller);
+      return;
+    }
+    this.layoutManager.startSmoothScroll(scroller);
+  }
+
+  private void smoothScrollToView(View view) {
+    if (this.snapHelper == null) {
+      this.smoothScrollToSnapPosition(this.layoutManager.getPosition(view));
+      return;
+    }
+
+    int[] snapDistance = this.snapHelper.calculateDistanceToFinalSnap(this.layoutManager, view);
+
+    if (snapDistance != null && (snapDistance[0] != 0 || snapDistance[1] != 0)) {
+      this.recyclerView.smoothScrollBy(snapDistance[0], snapDistance[1]);
+    }
+  }
+
+  // offset of the decorated start of a snapped item that is not the first or the last one
+  private int getSnapOffset(int position) {
+    if (!this.carouselOffset.isOffsetCenter()) return 0;
+
+    OrientationHelper helper = CarouselOrientation.createHelper(this.layoutManager);
+    int decoratedExtent = this.carouselOffset.getItemExtent(position) + (this.carouselOffset.getSpacing() / 2) * 2;
+    return (helper.getTotalSpace() - decoratedExtent) / 2;
+  }
+
+  private class SnapSmoothScroller extends LinearSmoothScroller {
+
+    SnapSmoothScroller() {
+      super(recyclerView.getContext());
+    }
+
+    @Override
+    protected void onTargetFound(View targetView, RecyclerView.State state, Action action) {
+      if (snapHelper == null) {
+        super.onTargetFound(targetView, state, action);
+        return;
+      }
+      int[] snapDistance = snapHelper.calculateDistanceToFinalSnap(layoutManager, targetView);
+      if (snapDistance == null) return;
+
+      int dx = snapDistance[0];
+      int dy = snapDistance[1];
+      int time = calculateTimeForDeceleration(Math.max(Math.abs(dx), Math.abs(dy)));
+      if (time > 0) {
+        action.update(dx, dy, time, mDecelerateInterpolator);
+      }
+    }
+  }
+}
@@ -1,26 +1,145 @@
 package com.jama.carouselview;
 
 import android.view.View;
-import android.view.ViewTreeObserver;
 
 import androidx.recyclerview.widget.RecyclerView;
 
-class CarouselOffset {
-
-  void init(final RecyclerView recyclerView, final View view, final int spacing, final boolean isOffsetStart) {
-    view.getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
-      @Override
-      public void onGlobalLayout() {
-        if (recyclerView.getItemDecorationCount() > 0) {
-          recyclerView.removeItemDecorationAt(0);
-        }
-        if (isOffsetStart) {
-          recyclerView.addItemDecoration(new CarouselItemDecoration(view.getWidth(), spacing), 0);
-        } else {
-          recyclerView.addItemDecoration(new CarouselItemDecoration(0, spacing), 0);
-        }
-        view.getViewTreeObserver().removeOnGlobalLayoutListener(this);
-      }
-    });
+class CarouselOffset implements Runnable {
+
+  private final CarouselItemDecoration itemDecoration;
+  private final CarouselExtentCache extentCache = new CarouselExtentCache();
+  private RecyclerView recyclerView;
+  private RecyclerView.Adapter<?> adapter;
+  private boolean isOffsetCenter;
+  private boolean isFixedItemSize;
+  private int orientation;
+  private int itemExtent;
+  private int parentExtent;
+  private boolean isUpdatePending;
+
+  CarouselOffset() {
+    this.itemDecoration = new CarouselItemDecoration(this.extentCache, 0, 0);
+  }
+
+  void init(RecyclerView recyclerView, int orientation, int spacing, boolean isOffsetCenter) {
+    if (this.recyclerView != null) {
+      this.recyclerView.removeCallbacks(this);
+      this.recyclerView.removeItemDecoration(this.itemDecoration);
+    }
+    this.recyclerView = recyclerView;
+    this.isOffsetCenter = isOffsetCenter;
+    this.orientation = orientation;
+    this.itemExtent = 0;
+    this.parentExtent = 0;
+    this.isUpdatePending = false;
+    this.extentCache.clear();
+    this.itemDecoration.setItemExtent(0);
+    this.itemDecoration.setOrientation(orientation);
+    this.itemDecoration.setSpacing(spacing);
+    recyclerView.addItemDecoration(this.itemDecoration, 0);
+  }
+
+  void setAdapter(RecyclerView.Adapter<?> adapter) {
+    if (this.adapter != null) {
+      this.adapter.unregisterAdapterDataObserver(this.extentCache);
+    }
+    this.adapter = adapter;
+    adapter.registerAdapterDataObserver(this.extentCache);
+  }
+
+  // all items have the extent of the last measured one, so pitches need no lookups
+  void setFixedItemSize(boolean isFixedItemSize) {
+    this.isFixedItemSize = isFixedItemSize;
+  }
+
+  boolean isFixedItemSize() {
+    return this.isFixedItemSize;
+  }
+
+  void setSpacing(int spacing) {
+    this.itemDecoration.setSpacing(spacing);
+    this.invalidate();
+  }
+
+  void setOffsetCenter(boolean isOffsetCenter) {
+    this.isOffsetCenter = isOffsetCenter;
+    // only centered items get the edge insets that depend on the item extent
+    this.itemDecoration.setItemExtent(isOffsetCenter ? this.itemExtent : 0);
+    this.invalidate();
+  }
+
+  // applies changed insets to the laid out items, it can't be called during a layout pass
+  void invalidate() {
+    if (this.recyclerView != null) {
+      this.recyclerView.invalidateItemDecorations();
+    }
+  }
+
+  // only the first and last items carry insets that depend on their own extent, so only changes of those are applied
+  void onItemMeasured(View view, boolean isPreLayout) {
+    if (this.recyclerView == null) return;
+
+    int position = ((RecyclerView.LayoutParams) view.getLayoutParams()).getViewLayoutPosition();
+    int itemExtent = CarouselOrientation.getMeasuredExtent(view, this.orientation);
+    int parentExtent = CarouselOrientation.getMeasuredExtent(this.recyclerView, this.orientation);
+    // pre-layout positions are the ones from before the change, while the cache already moved to the new ones
+    boolean isItemChanged = !this.isFixedItemSize && !isPreLayout && this.extentCache.put(position, itemExtent);
+    boolean isEdge = position == 0 || (this.adapter != null && position == this.adapter.getItemCount() - 1);
+    boolean isFirstMeasure = this.itemExtent == 0;
+    if (!isFirstMeasure && parentExtent == this.parentExtent && !(isItemChanged && isEdge)) {
+      this.itemExtent = itemExtent;
+      return;
+    }
+
+    this.itemExtent = itemExtent;
+    this.parentExtent = parentExtent;
+    if (this.isOffsetCenter && !this.isUpdatePending) {
+      // item decorations can't be invalidated while RecyclerView is in a layout pass
+      this.isUpdatePending = true;
+      this.recyclerView.post(this);
+    }
+  }
+
+  // the last measured extent, it stands in for the items that weren't measured yet
+  int getItemExtent() {
+    return this.itemExtent;
+  }
+
+  int getItemExtent(int position) {
+    if (this.isFixedItemSize) return this.itemExtent;
+    int extent = this.extentCache.get(position);
+    return extent > 0 ? extent : this.itemExtent;
+  }
+
+  // distance between the anchors of two neighbouring items, 0 while the item extent is unknown
+  int getItemPitch() {
+    if (this.itemExtent <= 0) return 0;
+    int spacing = this.getSpacing();
+    return this.itemExtent + (this.isOffsetCenter ? (spacing / 2) * 2 : spacing);
+  }
+
+  // distance between the anchors of the item at the given position and the next one
+  int getItemPitch(int position) {
+    if (this.itemExtent <= 0) return 0;
+    if (this.isFixedItemSize) return this.getItemPitch();
+    int spacing = this.getSpacing();
+    int extent = this.getItemExtent(position);
+    if (!this.isOffsetCenter) return extent + spacing;
+    return extent - extent / 2 + (spacing / 2) * 2 + this.getItemExtent(position + 1) / 2;
+  }
+
+  int getSpacing() {
+    return this.itemDecoration.getSpacing();
+  }
+
+  boolean isOffsetCenter() {
+    return this.isOffsetCenter;
+  }
+
+  @Override
+  public void run() {
+    this.isUpdatePending = false;
+    this.itemDecoration.setItemExtent(this.isOffsetCenter ? this.itemExtent : 0);
+    this.recyclerView.invalidateItemDecorations();
   }
 }
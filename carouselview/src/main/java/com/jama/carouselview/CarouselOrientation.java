@@ -0,0 +1,48 @@
+package com.jama.carouselview;
+
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.recyclerview.widget.OrientationHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+// axis helpers shared by the layout manager, decoration and snap helpers so each one is written once for both orientations
+final class CarouselOrientation {
+
+  private CarouselOrientation() {
+  }
+
+  static int of(RecyclerView.LayoutManager layoutManager) {
+    return layoutManager.canScrollVertically() ? RecyclerView.VERTICAL : RecyclerView.HORIZONTAL;
+  }
+
+  static OrientationHelper createHelper(RecyclerView.LayoutManager layoutManager) {
+    return OrientationHelper.createOrientationHelper(layoutManager, of(layoutManager));
+  }
+
+  static int getStart(View view, int orientation) {
+    return orientation == RecyclerView.VERTICAL ? view.getTop() : view.getLeft();
+  }
+
+  static int getExtent(View view, int orientation) {
+    return orientation == RecyclerView.VERTICAL ? view.getHeight() : view.getWidth();
+  }
+
+  static int getMeasuredExtent(View view, int orientation) {
+    return orientation == RecyclerView.VERTICAL ? view.getMeasuredHeight() : view.getMeasuredWidth();
+  }
+
+  static int select(int x, int y, int orientation) {
+    return orientation == RecyclerView.VERTICAL ? y : x;
+  }
+
+  static void setInsets(Rect outRect, int start, int end, int orientation) {
+    if (orientation == RecyclerView.VERTICAL) {
+      outRect.top = start;
+      outRect.bottom = end;
+    } else {
+      outRect.left = start;
+      outRect.right = end;
+    }
+  }
+}
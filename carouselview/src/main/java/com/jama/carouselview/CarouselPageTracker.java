@@ -0,0 +1,152 @@
+package com.jama.carouselview;
+
+import android.view.View;
+
+import androidx.recyclerview.widget.OrientationHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+class CarouselPageTracker {
+
+  private final CarouselOffset carouselOffset;
+  private CarouselLinearLayoutManager layoutManager;
+  private OrientationHelper helper;
+  private boolean isValid;
+  private int position = RecyclerView.NO_POSITION;
+  private int offsetPixels;
+
+  CarouselPageTracker(CarouselOffset carouselOffset) {
+    this.carouselOffset = carouselOffset;
+  }
+
+  void init(CarouselLinearLayoutManager layoutManager) {
+    this.layoutManager = layoutManager;
+    this.helper = CarouselOrientation.createHelper(layoutManager);
+    this.invalidate();
+  }
+
+  // called after every layout, the children may have moved arbitrarily
+  void invalidate() {
+    this.isValid = false;
+  }
+
+  void onScrolled(int delta) {
+    if (!this.isValid) {
+      this.sync();
+    } else if (delta != 0) {
+      this.offsetPixels += delta;
+      this.normalize();
+    }
+  }
+
+  boolean isValid() {
+    if (!this.isValid) this.sync();
+    return this.isValid;
+  }
+
+  int getPosition() {
+    return this.position;
+  }
+
+  int getOffsetPixels() {
+    return this.offsetPixels;
+  }
+
+  float getOffset() {
+    return this.offsetPixels / (float) this.carouselOffset.getItemPitch(this.position);
+  }
+
+  // the scroll that brings the given position to the anchor, while the tracker is valid
+  int getDistanceTo(int position) {
+    if (this.carouselOffset.isFixedItemSize()) {
+      return (position - this.position) * this.carouselOffset.getItemPitch() - this.offsetPixels;
+    }
+    int distance = -this.offsetPixels;
+    for (int i = this.position; i < position; i++) {
+      distance += this.carouselOffset.getItemPitch(i);
+    }
+    for (int i = this.position - 1; i >= position; i--) {
+      distance -= this.carouselOffset.getItemPitch(i);
+    }
+    return distance;
+  }
+
+  // the scroll from the first item at the anchor, while the tracker is valid and all items have the same size
+  int getScrollOffset() {
+    return this.position * this.carouselOffset.getItemPitch() + this.offsetPixels;
+  }
+
+  // centered edge items are inset to reach the anchor, started ones end without spacing
+  int getScrollRange() {
+    int itemCount = this.layoutManager.getItemCount();
+    if (this.carouselOffset.isOffsetCenter()) {
+      return (itemCount - 1) * this.carouselOffset.getItemPitch() + this.helper.getTotalSpace();
+    }
+    return itemCount * this.carouselOffset.getItemPitch() - this.carouselOffset.getSpacing();
+  }
+
+  int getScrollExtent() {
+    return this.helper.getTotalSpace();
+  }
+
+  int getSnapPosition() {
+    if (!this.isValid()) return RecyclerView.NO_POSITION;
+    if (this.offsetPixels * 2 >= this.carouselOffset.getItemPitch(this.position) && this.position < this.layoutManager.getItemCount() - 1) {
+      return this.position + 1;
+    }
+    return this.position;
+  }
+
+  private void sync() {
+    this.position = RecyclerView.NO_POSITION;
+    if (this.layoutManager == null || this.layoutManager.getChildCount() == 0) return;
+
+    if (this.carouselOffset.getItemPitch() <= 0) return;
+
+    View child = this.layoutManager.getChildAt(0);
+    this.position = this.layoutManager.getPosition(child);
+    if (this.position == RecyclerView.NO_POSITION) return;
+
+    this.offsetPixels = this.getAnchorLine() - this.getAnchorPoint(child);
+    this.isValid = true;
+    this.normalize();
+  }
+
+  // uses the scrolled distance to step from item to item by their cached extents, so it's O(1) for every scrolled frame
+  private void normalize() {
+    int lastPosition = this.layoutManager.getItemCount() - 1;
+    if (this.carouselOffset.isFixedItemSize()) {
+      // every pitch is the same, so the steps are a division
+      int pitch = this.carouselOffset.getItemPitch();
+      int steps = this.offsetPixels >= 0 ? this.offsetPixels / pitch : -((pitch - 1 - this.offsetPixels) / pitch);
+      steps = Math.max(-this.position, Math.min(lastPosition - this.position, steps));
+      this.position += steps;
+      this.offsetPixels -= steps * pitch;
+      return;
+    }
+    while (this.position < lastPosition) {
+      int pitch = this.carouselOffset.getItemPitch(this.position);
+      if (this.offsetPixels < pitch) break;
+      this.offsetPixels -= pitch;
+      this.position++;
+    }
+    while (this.offsetPixels < 0 && this.position > 0) {
+      this.position--;
+      this.offsetPixels += this.carouselOffset.getItemPitch(this.position);
+    }
+  }
+
+  private int getAnchorLine() {
+    if (this.carouselOffset.isOffsetCenter()) {
+      return this.helper.getStartAfterPadding() + this.helper.getTotalSpace() / 2;
+    }
+    return this.helper.getStartAfterPadding();
+  }
+
+  private int getAnchorPoint(View child) {
+    if (this.carouselOffset.isOffsetCenter()) {
+      int orientation = this.layoutManager.getOrientation();
+      return CarouselOrientation.getStart(child, orientation) + CarouselOrientation.getExtent(child, orientation) / 2;
+    }
+    return this.helper.getDecoratedStart(child);
+  }
+}
@@ -0,0 +1,16 @@
+package com.jama.carouselview;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+public interface CarouselPagedDataSource<T> {
+
+  // runs on the main thread when the data source is shown and on every notifyDataSetChanged
+  int getItemCount();
+
+  // runs on a background thread, returns up to loadSize items starting at startPosition
+  @NonNull
+  List<T> loadPage(int startPosition, int loadSize);
+
+}
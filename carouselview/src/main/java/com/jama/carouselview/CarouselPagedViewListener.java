@@ -0,0 +1,15 @@
+package com.jama.carouselview;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+public interface CarouselPagedViewListener<T> {
+
+  void onBindView(@NonNull View view, int position, @NonNull T item);
+
+  // called when the item is bound before its page is loaded, onBindView follows once it is
+  default void onBindPlaceholder(@NonNull View view, int position) {
+  }
+
+}
@@ -0,0 +1,225 @@
+package com.jama.carouselview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+class CarouselPager extends RecyclerView.AdapterDataObserver {
+
+  static final int DEFAULT_PAGE_SIZE = 30;
+  static final int DEFAULT_MAX_PAGES = 5;
+  // the anchor page and one on each side, so the items shown next to the anchor keep their page
+  static final int MIN_MAX_PAGES = 3;
+
+  // payload of the rebind that swaps a placeholder for the loaded item
+  static final Object LOADED = new Object();
+
+  private static Executor sharedExecutor;
+
+  private final CarouselPagedDataSource<Object> dataSource;
+  private final CarouselPagedViewListener<Object> listener;
+  private final Executor executor;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final int pageSize;
+  private final int maxPages;
+  private final SparseArray<List<Object>> pages = new SparseArray<>();
+  private final SparseBooleanArray loading = new SparseBooleanArray();
+  private final SparseBooleanArray waiting = new SparseBooleanArray();
+  private RecyclerView.Adapter<?> adapter;
+  private int itemCount;
+  private int anchorPage = RecyclerView.NO_POSITION;
+  private int generation;
+
+  @SuppressWarnings("unchecked")
+  CarouselPager(CarouselPagedDataSource<?> dataSource, CarouselPagedViewListener<?> listener, int pageSize, int maxPages, @Nullable Executor executor) {
+    this.dataSource = (CarouselPagedDataSource<Object>) dataSource;
+    this.listener = (CarouselPagedViewListener<Object>) listener;
+    this.pageSize = Math.max(1, pageSize);
+    this.maxPages = Math.max(MIN_MAX_PAGES, maxPages);
+    this.executor = executor != null ? executor : getSharedExecutor();
+  }
+
+  private static synchronized Executor getSharedExecutor() {
+    if (sharedExecutor == null) {
+      sharedExecutor = Executors.newSingleThreadExecutor();
+    }
+    return sharedExecutor;
+  }
+
+  void setAdapter(RecyclerView.Adapter<?> adapter) {
+    if (this.adapter != null) {
+      this.adapter.unregisterAdapterDataObserver(this);
+    }
+    this.adapter = adapter;
+    this.adapter.registerAdapterDataObserver(this);
+    this.anchorPage = RecyclerView.NO_POSITION;
+    this.clear();
+  }
+
+  // the count only changes along with a notified data change, so the adapter never sees it change on its own
+  int getItemCount() {
+    return this.itemCount;
+  }
+
+  // keeps the pages within the window around the page of the anchor, and loads them nearest first
+  void setAnchor(int anchor) {
+    if (anchor == RecyclerView.NO_POSITION) return;
+    int anchorPage = anchor / this.pageSize;
+    if (anchorPage == this.anchorPage) return;
+    this.anchorPage = anchorPage;
+
+    for (int i = this.pages.size() - 1; i >= 0; i--) {
+      if (!this.isInWindow(this.pages.keyAt(i))) {
+        this.pages.removeAt(i);
+      }
+    }
+    this.loadWindow();
+  }
+
+  void bind(View view, int position) {
+    List<Object> page = this.pages.get(position / this.pageSize);
+    int index = position % this.pageSize;
+    if (page != null && index < page.size()) {
+      this.waiting.delete(position);
+      this.listener.onBindView(view, position, page.get(index));
+    } else {
+      this.waiting.put(position, true);
+      this.listener.onBindPlaceholder(view, position);
+      this.load(position / this.pageSize);
+    }
+  }
+
+  // a recycled item is bound from scratch when it's used again, so it no longer waits for its page
+  void onRecycled(int position) {
+    if (position != RecyclerView.NO_POSITION) {
+      this.waiting.delete(position);
+    }
+  }
+
+  private int getRadius() {
+    return (this.maxPages - 1) / 2;
+  }
+
+  private boolean isInWindow(int page) {
+    return Math.abs(page - this.anchorPage) <= this.getRadius();
+  }
+
+  private void loadWindow() {
+    if (this.anchorPage == RecyclerView.NO_POSITION) return;
+    for (int distance = 0; distance <= this.getRadius(); distance++) {
+      this.load(this.anchorPage + distance);
+      if (distance > 0) this.load(this.anchorPage - distance);
+    }
+  }
+
+  private void load(int page) {
+    int startPosition = page * this.pageSize;
+    if (page < 0 || startPosition >= this.itemCount) return;
+    if (this.pages.get(page) != null || this.loading.get(page)) return;
+
+    this.loading.put(page, true);
+    int generation = this.generation;
+    int loadSize = Math.min(this.pageSize, this.itemCount - startPosition);
+    this.executor.execute(() -> {
+      List<Object> items;
+      try {
+        items = this.dataSource.loadPage(startPosition, loadSize);
+      } catch (RuntimeException e) {
+        // the page is loaded again the next time one of its items is bound or it comes into the window
+        items = null;
+      }
+      List<Object> loaded = items;
+      this.mainHandler.post(() -> this.onLoaded(generation, page, loadSize, loaded));
+    });
+  }
+
+  private void onLoaded(int generation, int page, int loadSize, List<Object> items) {
+    if (generation != this.generation) return;
+    this.loading.delete(page);
+    if (items == null) return;
+
+    int startPosition = page * this.pageSize;
+    if (startPosition >= this.itemCount) return;
+    if (items.size() < loadSize) {
+      this.onEndReached(page, startPosition + items.size());
+    }
+
+    boolean isWaiting = this.hasWaiting(startPosition, startPosition + items.size());
+    if (!isWaiting && !this.isInWindow(page)) return;
+
+    this.pages.put(page, items);
+    this.trim(page);
+    for (int i = this.waiting.size() - 1; i >= 0; i--) {
+      int position = this.waiting.keyAt(i);
+      if (position >= startPosition && position < startPosition + items.size()) {
+        this.waiting.removeAt(i);
+        this.adapter.notifyItemChanged(position, LOADED);
+      }
+    }
+  }
+
+  // a short page means the data ended before the count said, so the items past its end are removed
+  // instead of waiting for a page that never comes
+  private void onEndReached(int page, int itemCount) {
+    for (int i = this.pages.size() - 1; i >= 0; i--) {
+      if (this.pages.keyAt(i) > page) {
+        this.pages.removeAt(i);
+      }
+    }
+    for (int i = this.waiting.size() - 1; i >= 0; i--) {
+      if (this.waiting.keyAt(i) >= itemCount) {
+        this.waiting.removeAt(i);
+      }
+    }
+    int removedCount = this.itemCount - itemCount;
+    this.itemCount = itemCount;
+    this.adapter.notifyItemRangeRemoved(itemCount, removedCount);
+  }
+
+  private boolean hasWaiting(int startPosition, int endPosition) {
+    for (int i = 0; i < this.waiting.size(); i++) {
+      int position = this.waiting.keyAt(i);
+      if (position >= startPosition && position < endPosition) return true;
+    }
+    return false;
+  }
+
+  // a page loaded for waiting items may lie outside the window, then the farthest other pages make room for it
+  private void trim(int loadedPage) {
+    while (this.pages.size() > this.maxPages) {
+      int farthest = -1;
+      for (int i = 0; i < this.pages.size(); i++) {
+        int page = this.pages.keyAt(i);
+        if (page == loadedPage) continue;
+        if (farthest == -1 || Math.abs(page - this.anchorPage) > Math.abs(this.pages.keyAt(farthest) - this.anchorPage)) {
+          farthest = i;
+        }
+      }
+      this.pages.removeAt(farthest);
+    }
+  }
+
+  // loads in flight may belong to the old data, so they are dropped and the visible items wait for the new one
+  private void clear() {
+    this.generation++;
+    this.pages.clear();
+    this.loading.clear();
+    this.waiting.clear();
+    this.itemCount = this.dataSource.getItemCount();
+    this.loadWindow();
+  }
+
+  @Override
+  public void onChanged() {
+    this.clear();
+  }
+}
@@ -0,0 +1,84 @@
+package com.jama.carouselview;
+
+import android.view.View;
+
+import androidx.recyclerview.widget.OrientationHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+class CarouselPagingFling {
+
+  private OrientationHelper helper;
+  private CarouselOffset carouselOffset;
+  private int maxPages;
+  private int totalSpace = -1;
+  private int itemExtent;
+
+  void setMaxPages(int maxPages) {
+    this.maxPages = Math.max(0, maxPages);
+  }
+
+  int getMaxPages() {
+    return this.maxPages;
+  }
+
+  void setCarouselOffset(CarouselOffset carouselOffset) {
+    this.carouselOffset = carouselOffset;
+  }
+
+  boolean isEnabled() {
+    return this.maxPages > 0;
+  }
+
+  // turns the fling distance into 1 to maxPages items from the current snap view
+  int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, View snapView, int flingDistance) {
+    int itemCount = layoutManager.getItemCount();
+    int snapPosition = layoutManager.getPosition(snapView);
+    if (itemCount == 0 || snapPosition == RecyclerView.NO_POSITION) return RecyclerView.NO_POSITION;
+    if (flingDistance == 0) return snapPosition;
+
+    int pages;
+    if (this.carouselOffset != null && this.carouselOffset.getItemPitch() > 0) {
+      pages = this.countPages(snapPosition, flingDistance, itemCount);
+    } else {
+      this.updateItemExtent(layoutManager, snapView, snapPosition);
+      pages = this.itemExtent > 0 ? Math.round(Math.abs(flingDistance) / (float) this.itemExtent) : 1;
+    }
+    pages = Math.max(1, Math.min(this.maxPages, pages));
+
+    int targetPosition = snapPosition + (flingDistance > 0 ? pages : -pages);
+    return Math.max(0, Math.min(itemCount - 1, targetPosition));
+  }
+
+  // steps over the items by their own extents, rounding to the nearest item
+  private int countPages(int snapPosition, int flingDistance, int itemCount) {
+    boolean isForward = flingDistance > 0;
+    int remaining = Math.abs(flingDistance);
+    int position = snapPosition;
+    int pages = 0;
+    while (pages < this.maxPages && (isForward ? position < itemCount - 1 : position > 0)) {
+      int pitch = this.carouselOffset.getItemPitch(isForward ? position : position - 1);
+      if (remaining * 2 < pitch) break;
+      remaining -= pitch;
+      position += isForward ? 1 : -1;
+      pages++;
+    }
+    return pages;
+  }
+
+  // the extent is kept until the carousel is resized, edge items are skipped as they carry the edge insets
+  private void updateItemExtent(RecyclerView.LayoutManager layoutManager, View snapView, int snapPosition) {
+    if (this.helper == null || this.helper.getLayoutManager() != layoutManager) {
+      this.helper = CarouselOrientation.createHelper(layoutManager);
+      this.totalSpace = -1;
+    }
+
+    int totalSpace = this.helper.getTotalSpace();
+    if (totalSpace != this.totalSpace) {
+      this.totalSpace = totalSpace;
+      this.itemExtent = 0;
+    }
+    if (this.itemExtent == 0 && snapPosition > 0 && snapPosition < layoutManager.getItemCount() - 1) {
+      this.itemExtent = this.helper.getDecoratedMeasurement(snapView);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.jama.carouselview;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+public interface CarouselPreparedViewListener<M> {
+
+  // runs on a background thread ahead of the item being shown, the returned model must not change afterwards
+  @NonNull
+  M prepare(int position);
+
+  // runs on the main thread, it should only hand the prepared values to the views
+  void apply(@NonNull View view, int position, @NonNull M model);
+
+  // called when the item is bound before its model is prepared, apply follows once it is
+  default void applyPlaceholder(@NonNull View view, int position) {
+  }
+
+}
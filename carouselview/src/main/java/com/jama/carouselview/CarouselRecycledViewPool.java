@@ -0,0 +1,36 @@
+package com.jama.carouselview;
+
+import android.util.SparseIntArray;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+public class CarouselRecycledViewPool extends RecyclerView.RecycledViewPool {
+
+  private static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+  private static final int DEFAULT_CACHED_ROWS = 2;
+
+  private final SparseIntArray maxRecycledViews = new SparseIntArray();
+  private final int cachedRows;
+
+  public CarouselRecycledViewPool() {
+    this(DEFAULT_CACHED_ROWS);
+  }
+
+  // cachedRows is the number of carousels whose visible items the pool should be able to hold at once
+  public CarouselRecycledViewPool(int cachedRows) {
+    this.cachedRows = Math.max(1, cachedRows);
+  }
+
+  @Override
+  public void setMaxRecycledViews(int viewType, int max) {
+    this.maxRecycledViews.put(viewType, max);
+    super.setMaxRecycledViews(viewType, max);
+  }
+
+  void fitVisibleItemCount(int viewType, int visibleItemCount) {
+    int max = visibleItemCount * this.cachedRows;
+    if (max > this.maxRecycledViews.get(viewType, DEFAULT_MAX_RECYCLED_VIEWS)) {
+      this.setMaxRecycledViews(viewType, max);
+    }
+  }
+}
@@ -9,4 +9,12 @@ public interface CarouselScrollListener {
 
   void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy);
 
+  // position is the item at or before the anchor, positionOffset the fraction of the way to the next item
+  default void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+  }
+
+  // called as soon as a fling starts with the position it is going to settle on
+  default void onFlingTargetPredicted(int position) {
+  }
+
 }
@@ -13,17 +13,29 @@ import androidx.recyclerview.widget.LinearSnapHelper;
 import androidx.recyclerview.widget.OrientationHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.jama.carouselview.math.CarouselSnapMath;
+
 public class CarouselSnapHelper extends LinearSnapHelper {
 
   private Context context;
+  private RecyclerView recyclerView;
   private int MAX_SCROLL_ON_FLING_DURATION_MS = 1000;
   private float MILLISECONDS_PER_INCH = 100f;
   private OrientationHelper helper = null;
   private Scroller scroller = null;
   private int maxScrollDistance = 0;
+  private int totalSpace = -1;
+  private int[] childStarts = new int[0];
+  private final int[] snapDistance = new int[2];
+  private final int[] scrollDistance = new int[2];
+  private CarouselNavigator navigator;
+  private final CarouselPagingFling pagingFling = new CarouselPagingFling();
 
   @Override
   public View findSnapView(RecyclerView.LayoutManager layoutManager) {
+    if (this.navigator != null && this.navigator.canFindSnapView()) {
+      return this.navigator.findSnapView();
+    }
     return findFirstView(layoutManager, helper(layoutManager));
   }
 
@@ -45,7 +57,7 @@ public class CarouselSnapHelper extends LinearSnapHelper {
         int[] snapDistance = calculateDistanceToFinalSnap(layoutManager, targetView);
         int dx = snapDistance[0];
         int dy = snapDistance[1];
-        int dt = calculateTimeForDeceleration(Math.abs(dx));
+        int dt = calculateTimeForDeceleration(Math.max(Math.abs(dx), Math.abs(dy)));
         int time  = Math.max(1, Math.min(MAX_SCROLL_ON_FLING_DURATION_MS, dt));
         action.update(dx, dy, time, mDecelerateInterpolator);
       }
@@ -57,36 +69,88 @@ public class CarouselSnapHelper extends LinearSnapHelper {
     };
   }
 
+  @Override
+  public boolean onFling(int velocityX, int velocityY) {
+    if (this.navigator == null || !this.navigator.isTracking()) {
+      return super.onFling(velocityX, velocityY);
+    }
+
+    int minFlingVelocity = this.recyclerView.getMinFlingVelocity();
+    if (Math.abs(velocityX) <= minFlingVelocity && Math.abs(velocityY) <= minFlingVelocity) return false;
+
+    int targetPosition = findTargetSnapPosition(this.recyclerView.getLayoutManager(), velocityX, velocityY);
+    return targetPosition != RecyclerView.NO_POSITION && this.navigator.smoothScrollToSnapPosition(targetPosition);
+  }
+
+  // the returned arrays are reused, callers only read them right away
   @Override
   public int[] calculateDistanceToFinalSnap(@NonNull RecyclerView.LayoutManager layoutManager, @NonNull View targetView) {
-    int[] out = new int[2];
-    out[0] = distanceStart(targetView, helper(layoutManager));
+    int[] out = this.snapDistance;
+    out[0] = 0;
+    out[1] = 0;
+    out[CarouselOrientation.of(layoutManager)] = distanceStart(targetView, helper(layoutManager));
     return out;
   }
 
   @Override
   public int[] calculateScrollDistance(int velocityX, int velocityY) {
-    int[] out = new int[2];
+    int[] out = this.scrollDistance;
+    out[0] = 0;
+    out[1] = 0;
 
-    if (this.helper == null) {
+    if (this.recyclerView == null || this.recyclerView.getLayoutManager() == null) {
       return out;
     }
 
-    OrientationHelper helper = this.helper;
+    OrientationHelper helper = helper(this.recyclerView.getLayoutManager());
 
-    if (maxScrollDistance == 0) {
+    int totalSpace = helper.getTotalSpace();
+    if (totalSpace != this.totalSpace) {
+      this.totalSpace = totalSpace;
       maxScrollDistance = (helper.getEndAfterPadding() - helper.getStartAfterPadding()) / 2;
     }
 
-    this.scroller.fling(0, 0, velocityX, velocityY, -maxScrollDistance, maxScrollDistance, 0, 0);
+    this.scroller.fling(0, 0, velocityX, velocityY, -maxScrollDistance, maxScrollDistance, -maxScrollDistance, maxScrollDistance);
 
     out[0] = this.scroller.getFinalX();
     out[1] = this.scroller.getFinalY();
     return out;
   }
 
+  @Override
+  public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+    int targetPosition = findPagingTargetSnapPosition(layoutManager, velocityX, velocityY);
+    if (targetPosition != RecyclerView.NO_POSITION && layoutManager instanceof CarouselLinearLayoutManager) {
+      ((CarouselLinearLayoutManager) layoutManager).setFlingTargetPosition(targetPosition);
+    }
+    return targetPosition;
+  }
+
+  private int findPagingTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+    if (!this.pagingFling.isEnabled() || this.scroller == null) {
+      return super.findTargetSnapPosition(layoutManager, velocityX, velocityY);
+    }
+
+    View snapView = findSnapView(layoutManager);
+    if (snapView == null) return RecyclerView.NO_POSITION;
+
+    this.scroller.fling(0, 0, velocityX, velocityY, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    int distance = CarouselOrientation.select(this.scroller.getFinalX(), this.scroller.getFinalY(), CarouselOrientation.of(layoutManager));
+    return this.pagingFling.findTargetSnapPosition(layoutManager, snapView, distance);
+  }
+
+  void setMaxFlingPages(int maxFlingPages) {
+    this.pagingFling.setMaxPages(maxFlingPages);
+  }
+
+  void setNavigator(CarouselNavigator navigator) {
+    this.navigator = navigator;
+    this.pagingFling.setCarouselOffset(navigator.getCarouselOffset());
+  }
+
   @Override
   public void attachToRecyclerView(@Nullable RecyclerView recyclerView) throws IllegalStateException {
+    this.recyclerView = recyclerView;
     if (recyclerView != null) {
       this.context = recyclerView.getContext();
       this.scroller = new Scroller(context, new DecelerateInterpolator());
@@ -105,21 +169,15 @@ public class CarouselSnapHelper extends LinearSnapHelper {
     int childCount = layoutManager.getChildCount();
     if (childCount == 0) return null;
 
-    int absClosest = Integer.MAX_VALUE;
-    View closestView = null;
-    int start = helper.getStartAfterPadding();
-
-    for (int i=0; i < childCount; i++) {
-      View child = layoutManager.getChildAt(i);
-      int childStart = helper.getDecoratedStart(child);
-      int absDistanceToStart = Math.abs(childStart - start);
-      if (absDistanceToStart < absClosest) {
-        absClosest = absDistanceToStart;
-        closestView = child;
-      }
+    if (this.childStarts.length < childCount) {
+      this.childStarts = new int[childCount];
+    }
+    for (int i = 0; i < childCount; i++) {
+      this.childStarts[i] = helper.getDecoratedStart(layoutManager.getChildAt(i));
     }
 
-    return closestView;
+    int closest = CarouselSnapMath.findClosest(this.childStarts, childCount, helper.getStartAfterPadding());
+    return closest != CarouselSnapMath.NO_POSITION ? layoutManager.getChildAt(closest) : null;
   }
 
   private int distanceStart(View targetView, OrientationHelper helper) {
@@ -129,8 +187,9 @@ public class CarouselSnapHelper extends LinearSnapHelper {
   }
 
   private OrientationHelper helper(RecyclerView.LayoutManager layoutManager) {
-    if (this.helper == null) {
-      this.helper = OrientationHelper.createHorizontalHelper(layoutManager);
+    if (this.helper == null || this.helper.getLayoutManager() != layoutManager) {
+      this.helper = CarouselOrientation.createHelper(layoutManager);
+      this.totalSpace = -1;
     }
     return this.helper;
   }
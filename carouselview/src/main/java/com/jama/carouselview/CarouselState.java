@@ -0,0 +1,58 @@
+package com.jama.carouselview;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+
+// the first laid out item and the offset of its decorated start, which is what a layout starts from
+public final class CarouselState implements Parcelable {
+
+  static final CarouselState INITIAL = new CarouselState(0, 0, 0);
+
+  private final int anchorPosition;
+  private final int anchorOffset;
+  private final int currentItem;
+
+  CarouselState(int anchorPosition, int anchorOffset, int currentItem) {
+    this.anchorPosition = anchorPosition;
+    this.anchorOffset = anchorOffset;
+    this.currentItem = currentItem;
+  }
+
+  public int getAnchorPosition() {
+    return this.anchorPosition;
+  }
+
+  public int getAnchorOffset() {
+    return this.anchorOffset;
+  }
+
+  public int getCurrentItem() {
+    return this.currentItem;
+  }
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(@NonNull Parcel dest, int flags) {
+    dest.writeInt(this.anchorPosition);
+    dest.writeInt(this.anchorOffset);
+    dest.writeInt(this.currentItem);
+  }
+
+  public static final Creator<CarouselState> CREATOR = new Creator<CarouselState>() {
+    @Override
+    public CarouselState createFromParcel(Parcel source) {
+      return new CarouselState(source.readInt(), source.readInt(), source.readInt());
+    }
+
+    @Override
+    public CarouselState[] newArray(int size) {
+      return new CarouselState[size];
+    }
+  };
+}
@@ -0,0 +1,43 @@
+package com.jama.carouselview;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+// keeps the scroll of carousels that are rows of an outer RecyclerView, keyed by whatever identifies the row
+public class CarouselStateCache {
+
+  private static final int DEFAULT_MAX_SIZE = 100;
+
+  private final LruCache<Object, CarouselState> states;
+
+  public CarouselStateCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public CarouselStateCache(int maxSize) {
+    this.states = new LruCache<>(Math.max(1, maxSize));
+  }
+
+  // call it when the row is recycled, e.g. from onViewRecycled of the outer adapter
+  public void save(@NonNull Object key, @NonNull CarouselView carouselView) {
+    CarouselState state = carouselView.getState();
+    if (state != null) {
+      this.states.put(key, state);
+    }
+  }
+
+  // call it when the row is bound, rows without a saved state start at the first item
+  public void restore(@NonNull Object key, @NonNull CarouselView carouselView) {
+    CarouselState state = this.states.get(key);
+    carouselView.setState(state != null ? state : CarouselState.INITIAL);
+  }
+
+  public void remove(@NonNull Object key) {
+    this.states.remove(key);
+  }
+
+  public void clear() {
+    this.states.evictAll();
+  }
+}
@@ -2,42 +2,79 @@ package com.jama.carouselview;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.os.Handler;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.util.AttributeSet;
-import android.view.LayoutInflater;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.widget.FrameLayout;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.SnapHelper;
 
 import com.jama.carouselview.enums.OffsetType;
+import com.jama.carouselview.image.CarouselImageLoader;
+import com.jama.carouselview.transformers.ScaleItemTransformer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 public class CarouselView extends FrameLayout {
 
+  private static final CarouselItemTransformer SCALE_ON_SCROLL_TRANSFORMER = new ScaleItemTransformer();
+
   private Context context;
   private RecyclerView carouselRecyclerView;
   private CarouselLinearLayoutManager layoutManager;
+  private CarouselOffset carouselOffset;
+  private CarouselNavigator carouselNavigator;
+  private CarouselPageTracker pageTracker;
   private CarouselViewListener carouselViewListener;
+  private SparseArray<CarouselViewListener> carouselViewListeners;
+  private CarouselViewTypeResolver viewTypeResolver;
+  private SparseIntArray recycledViewPoolSizes;
+  private RecyclerView.RecycledViewPool recycledViewPool;
+  private CarouselItemPreInflater preInflater;
+  private final CarouselInflationCounter inflationCounter = new CarouselInflationCounter();
+  private CarouselListDiffer listDiffer;
+  private CarouselImageLoader imageLoader;
+  private CarouselModelCache modelCache;
+  private CarouselMetrics metrics;
+  private CarouselMetricsListener metricsListener;
   private CarouselScrollListener carouselScrollListener;
   private CarouselOnManualSelectionListener carouselOnItemSelectedListener;
   private OffsetType offsetType;
   private SnapHelper snapHelper;
+  private SnapHelper attachedSnapHelper;
   private boolean enableSnapping;
   private boolean enableAutoPlay;
   private int autoPlayDelay;
-  private Handler autoPlayHandler;
+  private int maxFlingPages;
+  private int prefetchDistance;
+  private boolean fixedItemSize;
+  private CarouselAutoPlayScheduler autoPlayScheduler;
   private boolean scaleOnScroll;
+  private CarouselItemTransformer itemTransformer;
   private int resource;
   private int size;
   private int spacing;
+  private int orientation = RecyclerView.HORIZONTAL;
   private int currentItem;
   private boolean isResourceSet = false;
 
   private CarouselViewAdapter carouselViewAdapter;
+  private CarouselState pendingState;
+  private CarouselPager pager;
+  private RecyclerView.OnScrollListener scrollListener;
+  private final CarouselLinearLayoutManager.OnFlingTargetListener flingTargetListener = position -> {
+    if (this.carouselScrollListener != null) {
+      this.carouselScrollListener.onFlingTargetPredicted(position);
+    }
+  };
 
   public CarouselView(@NonNull Context context) {
     super(context);
@@ -51,13 +88,23 @@ public class CarouselView extends FrameLayout {
     init(attrs);
   }
 
+  // for carousels created in code, no attributes are parsed
+  public CarouselView(@NonNull Context context, int resource, int size) {
+    super(context);
+    this.context = context;
+    init(null);
+    this.setResource(resource);
+    this.setSize(size);
+  }
+
   private void init(AttributeSet attributeSet) {
-    LayoutInflater inflater = LayoutInflater.from(context);
-    View carouselView = inflater.inflate(R.layout.view_carousel, this);
-    this.carouselRecyclerView = carouselView.findViewById(R.id.carouselRecyclerView);
-    this.autoPlayHandler = new Handler();
+    this.carouselRecyclerView = new RecyclerView(this.context);
+    this.carouselRecyclerView.setId(R.id.carouselRecyclerView);
+    this.addView(this.carouselRecyclerView, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+    this.carouselOffset = new CarouselOffset();
+    this.pageTracker = new CarouselPageTracker(this.carouselOffset);
+    this.carouselNavigator = new CarouselNavigator(this.carouselRecyclerView, this.carouselOffset, this.pageTracker);
 
-    carouselRecyclerView.setHasFixedSize(false);
     carouselRecyclerView.getItemAnimator().setChangeDuration(0);
     this.initializeAttributes(attributeSet);
   }
@@ -70,6 +117,7 @@ public class CarouselView extends FrameLayout {
       this.setAutoPlay(attributes.getBoolean(R.styleable.CarouselView_setAutoPlay, false));
       this.setAutoPlayDelay(attributes.getInteger(R.styleable.CarouselView_setAutoPlayDelay, 2500));
       this.setCarouselOffset(this.getOffset(attributes.getInteger(R.styleable.CarouselView_carouselOffset, 0)));
+      this.setOrientation(attributes.getInteger(R.styleable.CarouselView_carouselOrientation, RecyclerView.HORIZONTAL));
       int resourceId = attributes.getResourceId(R.styleable.CarouselView_resource, 0);
       if (resourceId != 0) {
         this.setResource(resourceId);
@@ -82,32 +130,242 @@ public class CarouselView extends FrameLayout {
 
   public void enableSnapping(boolean enable) {
     this.enableSnapping = enable;
+    if (this.isShowing()) {
+      this.applySnapping();
+    }
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    if (this.autoPlayScheduler != null) {
+      this.autoPlayScheduler.onAttachedToWindow();
+    }
   }
 
   @Override
   protected void onDetachedFromWindow() {
     super.onDetachedFromWindow();
-    this.setAutoPlay(false);
+    if (this.preInflater != null) {
+      this.preInflater.cancel();
+    }
+    if (this.metrics != null) {
+      this.metrics.stopWatchingFrames();
+    }
+    if (this.autoPlayScheduler != null) {
+      this.autoPlayScheduler.onDetachedFromWindow();
+    }
+  }
+
+  @Override
+  protected Parcelable onSaveInstanceState() {
+    SavedState savedState = new SavedState(super.onSaveInstanceState());
+    savedState.state = this.getState();
+    return savedState;
+  }
+
+  @Override
+  protected void onRestoreInstanceState(Parcelable state) {
+    if (!(state instanceof SavedState)) {
+      super.onRestoreInstanceState(state);
+      return;
+    }
+    SavedState savedState = (SavedState) state;
+    super.onRestoreInstanceState(savedState.getSuperState());
+    this.setState(savedState.state);
+  }
+
+  // the internal RecyclerView has the same id in every carousel, so its state is left to the carousel
+  @Override
+  protected void dispatchSaveInstanceState(SparseArray<Parcelable> container) {
+    dispatchFreezeSelfOnly(container);
+  }
+
+  @Override
+  protected void dispatchRestoreInstanceState(SparseArray<Parcelable> container) {
+    dispatchThawSelfOnly(container);
+  }
+
+  @Override
+  protected void onWindowVisibilityChanged(int visibility) {
+    super.onWindowVisibilityChanged(visibility);
+    if (this.autoPlayScheduler != null) {
+      this.autoPlayScheduler.onWindowVisibilityChanged();
+    }
   }
 
   private void setAdapter() {
-    this.carouselRecyclerView.clearOnScrollListeners();
-    this.layoutManager = new CarouselLinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false);
+    if (this.scrollListener != null) {
+      this.carouselRecyclerView.removeOnScrollListener(this.scrollListener);
+    }
+    this.layoutManager = new CarouselLinearLayoutManager(context, this.getOrientation(), false);
+    this.carouselRecyclerView.getLayoutParams().height = this.getOrientation() == RecyclerView.VERTICAL ? LayoutParams.MATCH_PARENT : LayoutParams.WRAP_CONTENT;
     this.layoutManager.isOffsetStart(this.getCarouselOffset() == OffsetType.START);
-    if (this.getScaleOnScroll()) this.layoutManager.setScaleOnScroll(true);
+    this.layoutManager.setItemTransformer(this.getItemTransformer());
+    this.layoutManager.setPrefetchDistance(this.prefetchDistance);
+    this.layoutManager.setExtraLayoutPages(this.getAutoPlay() ? 1 : 0);
+    this.layoutManager.setOnFlingTargetListener(this.flingTargetListener);
+    this.layoutManager.setMetrics(this.metrics);
+    this.applyFixedItemSize();
+    if (this.pendingState != null) {
+      this.layoutManager.setState(this.pendingState);
+      this.pendingState = null;
+    }
+    this.carouselOffset.init(this.carouselRecyclerView, this.getOrientation(), this.getSpacing(), this.getCarouselOffset() == OffsetType.CENTER);
+    this.layoutManager.setCarouselOffset(this.carouselOffset);
+    this.layoutManager.setPageTracker(this.pageTracker);
+    this.pageTracker.init(this.layoutManager);
+    this.layoutManager.setRecycleChildrenOnDetach(this.recycledViewPool != null);
+    if (this.recycledViewPool instanceof CarouselRecycledViewPool) {
+      this.layoutManager.setRecycledViewPool((CarouselRecycledViewPool) this.recycledViewPool);
+    }
     carouselRecyclerView.setLayoutManager(this.layoutManager);
-    carouselViewAdapter = new CarouselViewAdapter(getCarouselViewListener(), getResource(), getSize(), carouselRecyclerView, this.getSpacing(), this.getCarouselOffset() == OffsetType.CENTER);
-    this.carouselRecyclerView.setAdapter(carouselViewAdapter);
-    if (this.enableSnapping) {
-      this.carouselRecyclerView.setOnFlingListener(null);
-      this.snapHelper.attachToRecyclerView(this.carouselRecyclerView);
+    carouselViewAdapter = new CarouselViewAdapter(getCarouselViewListener(), getResource(), getSize());
+    carouselViewAdapter.setViewTypes(this.viewTypeResolver, this.carouselViewListeners);
+    carouselViewAdapter.setPreInflater(this.preInflater);
+    carouselViewAdapter.setInflationCounter(this.inflationCounter);
+    carouselViewAdapter.setListDiffer(this.listDiffer);
+    carouselViewAdapter.setImageLoader(this.imageLoader);
+    carouselViewAdapter.setModelCache(this.modelCache);
+    carouselViewAdapter.setPager(this.pager);
+    carouselViewAdapter.setMetrics(this.metrics);
+    if (this.modelCache != null) {
+      this.modelCache.setAdapter(carouselViewAdapter);
+      this.modelCache.setWindow(this.getModelWindow());
+      this.modelCache.setAnchor(this.getCurrentItem());
+    }
+    if (this.pager != null) {
+      this.pager.setAdapter(carouselViewAdapter);
+      this.pager.setAnchor(this.getCurrentItem());
+    }
+    if (this.listDiffer != null) {
+      this.listDiffer.setAdapter(carouselViewAdapter);
     }
+    this.carouselOffset.setAdapter(carouselViewAdapter);
+    this.applyRecycledViewPoolSizes();
+    this.carouselRecyclerView.setAdapter(carouselViewAdapter);
+    this.applySnapping();
     this.setScrollListener();
-    this.enableAutoPlay();
+    this.applyAutoPlay();
+  }
+
+  private boolean isShowing() {
+    return this.carouselViewAdapter != null;
+  }
+
+  // a showing carousel keeps its adapter and layout manager, and with them its holders and scroll position
+  private boolean canReuseAdapter() {
+    return this.isShowing()
+        && this.layoutManager.getOrientation() == this.getOrientation()
+        && this.carouselViewAdapter.hasDataSource(this.listDiffer, this.modelCache, this.pager);
+  }
+
+  // only the settings that differ from the applied ones are applied again, so an unchanged show() costs no layout
+  private void updateAdapter() {
+    this.layoutManager.setPrefetchDistance(this.prefetchDistance);
+    this.layoutManager.setExtraLayoutPages(this.getAutoPlay() ? 1 : 0);
+    this.layoutManager.setMetrics(this.metrics);
+    this.updateFixedItemSize();
+    this.applyItemTransformer();
+    this.applyCarouselOffset();
+    this.applySpacing();
+    this.carouselViewAdapter.setViewTypes(this.viewTypeResolver, this.carouselViewListeners);
+    this.carouselViewAdapter.setPreInflater(this.preInflater);
+    this.carouselViewAdapter.setImageLoader(this.imageLoader);
+    this.carouselViewAdapter.setMetrics(this.metrics);
+    this.applySize();
+    // the items only bind again when what they are bound with changed
+    if (this.carouselViewAdapter.setBinding(this.getCarouselViewListener(), this.getResource())) {
+      this.carouselViewAdapter.notifyItemRangeChanged(0, this.carouselViewAdapter.getItemCount());
+    }
+    this.applySnapping();
+    this.applyAutoPlay();
+  }
+
+  // attaching snaps to the nearest item, so the helper is only swapped when snapping or the offset type changed
+  private void applySnapping() {
+    SnapHelper snapHelper = this.enableSnapping ? this.getSnapHelper() : null;
+    if (snapHelper != this.attachedSnapHelper) {
+      if (this.attachedSnapHelper != null) {
+        this.attachedSnapHelper.attachToRecyclerView(null);
+      }
+      if (snapHelper != null) {
+        this.carouselRecyclerView.setOnFlingListener(null);
+        snapHelper.attachToRecyclerView(this.carouselRecyclerView);
+      }
+      this.attachedSnapHelper = snapHelper;
+    }
+    this.applyMaxFlingPages();
+    this.carouselNavigator.init(this.layoutManager, snapHelper);
+  }
+
+  // a size change becomes a range change, so the other items keep their holders
+  private void applySize() {
+    if (this.listDiffer != null || this.pager != null) return;
+
+    int oldSize = this.carouselViewAdapter.getItemCount();
+    if (oldSize == this.size) return;
+
+    this.carouselViewAdapter.setSize(this.size);
+    if (this.size > oldSize) {
+      this.carouselViewAdapter.notifyItemRangeInserted(oldSize, this.size - oldSize);
+    } else {
+      this.carouselViewAdapter.notifyItemRangeRemoved(this.size, oldSize - this.size);
+    }
+    // the end insets move to the new last item
+    this.carouselOffset.invalidate();
+    this.pageTracker.invalidate();
+    if (this.currentItem >= this.size) {
+      this.currentItem = Math.max(0, this.size - 1);
+    }
+    if (this.autoPlayScheduler != null) {
+      this.autoPlayScheduler.restart();
+    }
+  }
+
+  // moves the anchor and swaps the snapping, keeping the snapped item in place
+  private void applyCarouselOffset() {
+    boolean isOffsetCenter = this.getCarouselOffset() == OffsetType.CENTER;
+    if (this.carouselOffset.isOffsetCenter() == isOffsetCenter) return;
+
+    int position = this.getSnapPosition();
+    this.layoutManager.isOffsetStart(!isOffsetCenter);
+    this.carouselOffset.setOffsetCenter(isOffsetCenter);
+    this.pageTracker.invalidate();
+    this.applySnapping();
+    this.carouselNavigator.scrollTo(position >= 0 ? position : this.getCurrentItem());
+  }
+
+  // adapter changes then skip the layout request to the parents, and items skip measuring
+  private void applyFixedItemSize() {
+    this.carouselRecyclerView.setHasFixedSize(this.fixedItemSize);
+    this.layoutManager.setFixedItemSize(this.fixedItemSize);
+    this.carouselOffset.setFixedItemSize(this.fixedItemSize);
+  }
+
+  private void updateFixedItemSize() {
+    if (this.layoutManager.isFixedItemSize() == this.fixedItemSize) return;
+    this.applyFixedItemSize();
+    this.pageTracker.invalidate();
+    this.layoutManager.requestLayout();
+  }
+
+  // a new transformer starts a new generation, which resets or transforms every item on the next layout
+  private void applyItemTransformer() {
+    if (this.layoutManager.getItemTransformer() == this.getItemTransformer()) return;
+    this.layoutManager.setItemTransformer(this.getItemTransformer());
+    this.layoutManager.requestLayout();
   }
 
   private void setScrollListener() {
-    this.carouselRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+    if (this.scrollListener == null) {
+      this.scrollListener = this.createScrollListener();
+    }
+    this.carouselRecyclerView.addOnScrollListener(this.scrollListener);
+  }
+
+  private RecyclerView.OnScrollListener createScrollListener() {
+    return new RecyclerView.OnScrollListener() {
       boolean wasScrollingManually = false;
       @Override
       public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
@@ -116,6 +374,12 @@ public class CarouselView extends FrameLayout {
         if (newState == RecyclerView.SCROLL_STATE_DRAGGING) {
           wasScrollingManually = true;
         }
+        if (autoPlayScheduler != null) {
+          autoPlayScheduler.setDragging(newState == RecyclerView.SCROLL_STATE_DRAGGING);
+        }
+        if (metrics != null) {
+          metrics.onScrollStateChanged(recyclerView, newState);
+        }
 
         int snapPosition = getSnapPosition();
 
@@ -134,21 +398,50 @@ public class CarouselView extends FrameLayout {
 
         if (newState == RecyclerView.SCROLL_STATE_IDLE) {
           wasScrollingManually = false;
+          if (metricsListener != null) {
+            metricsListener.onMetricsUpdated(metrics);
+          }
         }
       }
 
       @Override
       public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
         super.onScrolled(recyclerView, dx, dy);
+        pageTracker.onScrolled(CarouselOrientation.select(dx, dy, getOrientation()));
+        if (modelCache != null && pageTracker.isValid()) {
+          modelCache.setAnchor(pageTracker.getPosition());
+        }
+        if (pager != null && pageTracker.isValid()) {
+          pager.setAnchor(pageTracker.getPosition());
+        }
         if (carouselScrollListener != null) {
           carouselScrollListener.onScrolled(recyclerView, dx, dy);
+          if (pageTracker.isValid()) {
+            carouselScrollListener.onPageScrolled(pageTracker.getPosition(), pageTracker.getOffset(), pageTracker.getOffsetPixels());
+          }
         }
       }
-    });
+    };
   }
 
   public void setAutoPlay(boolean enableAutoPlay) {
     this.enableAutoPlay = enableAutoPlay;
+    if (this.carouselViewAdapter != null) {
+      this.layoutManager.setExtraLayoutPages(enableAutoPlay ? 1 : 0);
+      this.applyAutoPlay();
+    }
+  }
+
+  // the scheduler is only created once autoplay is turned on
+  private void applyAutoPlay() {
+    if (this.enableAutoPlay) {
+      if (this.autoPlayScheduler == null) {
+        this.autoPlayScheduler = new CarouselAutoPlayScheduler(this);
+      }
+      this.autoPlayScheduler.setEnabled(true);
+    } else if (this.autoPlayScheduler != null) {
+      this.autoPlayScheduler.setEnabled(false);
+    }
   }
 
   public boolean getAutoPlay() {
@@ -163,30 +456,74 @@ public class CarouselView extends FrameLayout {
     return this.autoPlayDelay;
   }
 
-  private void enableAutoPlay() {
-    autoPlayHandler.postDelayed(new Runnable() {
-      public void run() {
-        if (getAutoPlay()) {
-          if (getSize() - 1 == getCurrentItem()) {
-            setCurrentItem(0);
-          } else {
-            setCurrentItem(getCurrentItem() + 1);
-          }
-          autoPlayHandler.postDelayed(this, getAutoPlayDelay());
-        }
-      }
-    }, getAutoPlayDelay());
+  void showNextItem() {
+    this.smoothScrollToItem(this.getCurrentItem() + 1 < this.getSize() ? this.getCurrentItem() + 1 : 0);
   }
 
   public void setCarouselOffset(OffsetType offsetType) {
     this.offsetType = offsetType;
-    switch (offsetType) {
-      case CENTER:
-        this.snapHelper = new CustomLinearSnapHelper();
-        break;
-      case START:
-        this.snapHelper = new CarouselSnapHelper();
-        break;
+    if (this.isShowing()) {
+      this.applyCarouselOffset();
+    }
+  }
+
+  // created on first use, and again only when the offset type needs the other snapping
+  private SnapHelper getSnapHelper() {
+    boolean isOffsetCenter = this.offsetType == OffsetType.CENTER;
+    if (this.snapHelper == null || (this.snapHelper instanceof CustomLinearSnapHelper) != isOffsetCenter) {
+      this.snapHelper = isOffsetCenter ? new CustomLinearSnapHelper() : new CarouselSnapHelper();
+    }
+    return this.snapHelper;
+  }
+
+  public void setPrefetchDistance(int prefetchDistance) {
+    this.prefetchDistance = prefetchDistance;
+    if (this.layoutManager != null) {
+      this.layoutManager.setPrefetchDistance(prefetchDistance);
+    }
+    if (this.modelCache != null) {
+      this.modelCache.setWindow(this.getModelWindow());
+    }
+  }
+
+  public int getPrefetchDistance() {
+    return this.prefetchDistance;
+  }
+
+  public void setFixedItemSize(boolean fixedItemSize) {
+    this.fixedItemSize = fixedItemSize;
+    if (this.isShowing()) {
+      this.updateFixedItemSize();
+    }
+  }
+
+  public boolean getFixedItemSize() {
+    return this.fixedItemSize;
+  }
+
+  // models are kept for the prefetched items and one more on each side
+  private int getModelWindow() {
+    return Math.max(this.prefetchDistance, 1) + 1;
+  }
+
+  public void setItemViewCacheSize(int size) {
+    this.carouselRecyclerView.setItemViewCacheSize(size);
+  }
+
+  public void setMaxFlingPages(int maxFlingPages) {
+    this.maxFlingPages = maxFlingPages;
+    this.applyMaxFlingPages();
+  }
+
+  public int getMaxFlingPages() {
+    return this.maxFlingPages;
+  }
+
+  private void applyMaxFlingPages() {
+    if (this.snapHelper instanceof CarouselSnapHelper) {
+      ((CarouselSnapHelper) this.snapHelper).setMaxFlingPages(this.maxFlingPages);
+    } else if (this.snapHelper instanceof CustomLinearSnapHelper) {
+      ((CustomLinearSnapHelper) this.snapHelper).setMaxFlingPages(this.maxFlingPages);
     }
   }
 
@@ -194,6 +531,14 @@ public class CarouselView extends FrameLayout {
     return this.offsetType;
   }
 
+  public void setOrientation(int orientation) {
+    this.orientation = orientation;
+  }
+
+  public int getOrientation() {
+    return this.orientation;
+  }
+
   public void setCurrentItem(int item) {
     if (item < 0) {
       this.currentItem = 0;
@@ -208,43 +553,7 @@ public class CarouselView extends FrameLayout {
   public void smoothScrollToItem(int index) {
     int oldSelectedItem = currentItem;
     setCurrentItem(index);
-
-    int indexToScroll = currentItem;
-    if(indexToScroll == 0) {
-      indexToScroll = 1;
-    }
-    else if(indexToScroll == size - 1) {
-      indexToScroll = size - 2;
-    }
-
-    View wantedView = layoutManager.findViewByPosition(currentItem);
-    if(wantedView == null) {
-      // scroll
-      int offset = 300;
-      if(oldSelectedItem < indexToScroll) {
-        offset = getWidth() - offset;
-      }
-      layoutManager.scrollToPositionWithOffset(indexToScroll, offset);
-
-      carouselRecyclerView.post(() -> {
-        View view = layoutManager.findViewByPosition(currentItem);
-        smoothScrollToView(view);
-      });
-    }
-    else {
-      smoothScrollToView(wantedView);
-    }
-  }
-
-  private void smoothScrollToView(View view) {
-    if (view == null) {
-      return;
-    }
-    int[] snapDistance = snapHelper.calculateDistanceToFinalSnap(layoutManager, view);
-
-    if (snapDistance != null && (snapDistance[0] != 0 || snapDistance[1] != 0)) {
-      carouselRecyclerView.smoothScrollBy(snapDistance[0], snapDistance[1]);
-    }
+    this.carouselNavigator.smoothScrollTo(oldSelectedItem, currentItem);
   }
 
   public int getCurrentItem() {
@@ -253,22 +562,50 @@ public class CarouselView extends FrameLayout {
 
   public void setScaleOnScroll(boolean scaleOnScroll) {
     this.scaleOnScroll = scaleOnScroll;
+    if (this.isShowing()) {
+      this.applyItemTransformer();
+    }
   }
 
   public boolean getScaleOnScroll() {
     return this.scaleOnScroll;
   }
 
+  public void setItemTransformer(CarouselItemTransformer itemTransformer) {
+    this.itemTransformer = itemTransformer;
+    if (this.isShowing()) {
+      this.applyItemTransformer();
+    }
+  }
+
+  public CarouselItemTransformer getItemTransformer() {
+    if (this.itemTransformer != null) return this.itemTransformer;
+    return this.scaleOnScroll ? SCALE_ON_SCROLL_TRANSFORMER : null;
+  }
+
   public void setSize(int size) {
     this.size = size;
+    if (this.isShowing()) {
+      this.applySize();
+    }
   }
 
   public int getSize() {
-    return this.size;
+    if (this.pager != null) return this.pager.getItemCount();
+    return this.listDiffer != null ? this.listDiffer.getItemCount() : this.size;
   }
 
   public void setSpacing(int spacing) {
     this.spacing = spacing;
+    if (this.isShowing()) {
+      this.applySpacing();
+    }
+  }
+
+  private void applySpacing() {
+    if (this.carouselOffset.getSpacing() == this.spacing) return;
+    this.carouselOffset.setSpacing(this.spacing);
+    this.pageTracker.invalidate();
   }
 
   public int getSpacing() {
@@ -292,6 +629,147 @@ public class CarouselView extends FrameLayout {
     return this.carouselViewListener;
   }
 
+  public void setPreparedViewListener(CarouselPreparedViewListener<?> preparedViewListener) {
+    this.setPreparedViewListener(preparedViewListener, null);
+  }
+
+  public void setPreparedViewListener(CarouselPreparedViewListener<?> preparedViewListener, @Nullable Executor backgroundExecutor) {
+    this.modelCache = preparedViewListener != null ? new CarouselModelCache(preparedViewListener, backgroundExecutor) : null;
+  }
+
+  public <T> void setPagedDataSource(CarouselPagedDataSource<T> dataSource, CarouselPagedViewListener<T> pagedViewListener) {
+    this.setPagedDataSource(dataSource, pagedViewListener, CarouselPager.DEFAULT_PAGE_SIZE, CarouselPager.DEFAULT_MAX_PAGES, null);
+  }
+
+  // at most maxPages pages of pageSize items are kept, centered on the page of the current item, and at least 3
+  public <T> void setPagedDataSource(CarouselPagedDataSource<T> dataSource, CarouselPagedViewListener<T> pagedViewListener, int pageSize, int maxPages, @Nullable Executor backgroundExecutor) {
+    this.pager = dataSource != null ? new CarouselPager(dataSource, pagedViewListener, pageSize, maxPages, backgroundExecutor) : null;
+  }
+
+  public void setCarouselViewListener(int resource, CarouselViewListener carouselViewListener) {
+    if (this.carouselViewListeners == null) {
+      this.carouselViewListeners = new SparseArray<>();
+    }
+    this.carouselViewListeners.put(resource, carouselViewListener);
+  }
+
+  public void setViewTypeResolver(CarouselViewTypeResolver viewTypeResolver) {
+    this.viewTypeResolver = viewTypeResolver;
+  }
+
+  public CarouselViewTypeResolver getViewTypeResolver() {
+    return this.viewTypeResolver;
+  }
+
+  public void setRecycledViewPoolSize(int resource, int maxSize) {
+    if (this.recycledViewPoolSizes == null) {
+      this.recycledViewPoolSizes = new SparseIntArray();
+    }
+    this.recycledViewPoolSizes.put(resource, maxSize);
+    this.carouselRecyclerView.getRecycledViewPool().setMaxRecycledViews(resource, maxSize);
+  }
+
+  public void warmUp(int count) {
+    this.validate();
+    this.warmUp(this.getResource(), count);
+  }
+
+  public void warmUp(int resource, int count) {
+    if (this.preInflater == null) {
+      this.preInflater = new CarouselItemPreInflater(this);
+      if (this.carouselViewAdapter != null) {
+        this.carouselViewAdapter.setPreInflater(this.preInflater);
+      }
+    }
+    this.preInflater.warmUp(resource, count);
+  }
+
+  public int getWarmItemCount() {
+    return this.inflationCounter.getWarmCount();
+  }
+
+  public int getColdItemCount() {
+    return this.inflationCounter.getColdCount();
+  }
+
+  public void setRecycledViewPool(RecyclerView.RecycledViewPool recycledViewPool) {
+    this.recycledViewPool = recycledViewPool;
+    this.carouselRecyclerView.setRecycledViewPool(recycledViewPool);
+    this.applyRecycledViewPoolSizes();
+  }
+
+  public RecyclerView.RecycledViewPool getRecycledViewPool() {
+    return this.carouselRecyclerView.getRecycledViewPool();
+  }
+
+  private void applyRecycledViewPoolSizes() {
+    if (this.recycledViewPoolSizes == null) return;
+    RecyclerView.RecycledViewPool pool = this.carouselRecyclerView.getRecycledViewPool();
+    for (int i = 0; i < this.recycledViewPoolSizes.size(); i++) {
+      pool.setMaxRecycledViews(this.recycledViewPoolSizes.keyAt(i), this.recycledViewPoolSizes.valueAt(i));
+    }
+  }
+
+  public void setImageLoader(CarouselImageLoader imageLoader) {
+    this.imageLoader = imageLoader;
+    if (this.carouselViewAdapter != null) {
+      this.carouselViewAdapter.setImageLoader(imageLoader);
+    }
+  }
+
+  public CarouselImageLoader getImageLoader() {
+    return this.imageLoader;
+  }
+
+  // metrics are only collected once a listener was set, the same aggregate is passed on every report
+  public void setMetricsListener(CarouselMetricsListener metricsListener) {
+    this.metricsListener = metricsListener;
+    if (metricsListener != null && this.metrics == null) {
+      this.metrics = new CarouselMetrics();
+    } else if (metricsListener == null && this.metrics != null) {
+      // nothing is timed or watched without a listener
+      this.metrics.stopWatchingFrames();
+      this.metrics = null;
+    } else {
+      return;
+    }
+    if (this.carouselViewAdapter != null) {
+      this.carouselViewAdapter.setMetrics(this.metrics);
+      this.layoutManager.setMetrics(this.metrics);
+    }
+  }
+
+  public CarouselMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  // the scroll position, null while nothing is laid out
+  @Nullable
+  public CarouselState getState() {
+    if (this.layoutManager == null) return this.pendingState;
+    return this.layoutManager.getState(this.currentItem);
+  }
+
+  // the first layout pass after this starts at the given state, before show it's kept until then
+  public void setState(@Nullable CarouselState state) {
+    if (state == null) return;
+
+    this.currentItem = Math.max(0, state.getCurrentItem());
+    if (this.layoutManager == null) {
+      this.pendingState = state;
+      return;
+    }
+    this.carouselRecyclerView.stopScroll();
+    this.layoutManager.setState(state);
+    this.pageTracker.invalidate();
+    if (this.modelCache != null) {
+      this.modelCache.setAnchor(this.currentItem);
+    }
+    if (this.pager != null) {
+      this.pager.setAnchor(this.currentItem);
+    }
+  }
+
   public void setCarouselScrollListener(CarouselScrollListener carouselScrollListener) {
     this.carouselScrollListener = carouselScrollListener;
   }
@@ -312,12 +790,45 @@ public class CarouselView extends FrameLayout {
     carouselViewAdapter.notifyItemChanged(position);
   }
 
+  public void notifyItemChanged(int position, @Nullable Object payload) {
+    carouselViewAdapter.notifyItemChanged(position, payload);
+  }
+
+  public void setDiffCallback(CarouselDiffCallback<?> diffCallback) {
+    this.setDiffCallback(diffCallback, null);
+  }
+
+  public void setDiffCallback(CarouselDiffCallback<?> diffCallback, @Nullable Executor backgroundExecutor) {
+    this.listDiffer = new CarouselListDiffer(diffCallback, backgroundExecutor);
+  }
+
+  public void submitList(@Nullable List<?> list) {
+    this.submitList(list, null);
+  }
+
+  public void submitList(@Nullable List<?> list, @Nullable Runnable commitCallback) {
+    if (this.listDiffer == null) throw new RuntimeException("Please set a diff callback before submitting a list to the carouselview");
+    this.listDiffer.submitList(list, commitCallback);
+  }
+
+  public List<Object> getCurrentList() {
+    return this.listDiffer != null ? this.listDiffer.getCurrentList() : Collections.emptyList();
+  }
+
   private void validate() {
-    if (!this.isResourceSet) throw new RuntimeException("Please add a resource layout to populate the carouselview");
+    if (!this.isResourceSet && this.viewTypeResolver == null) throw new RuntimeException("Please add a resource layout to populate the carouselview");
   }
 
   private int getSnapPosition() {
+    if (pageTracker.isValid()) {
+      return pageTracker.getSnapPosition();
+    }
+
     int snapPosition = -1;
+    if(snapHelper == null || !enableSnapping) {
+      return snapPosition;
+    }
+
     if(snapHelper instanceof CustomLinearSnapHelper) {
       CustomLinearSnapHelper snap = (CustomLinearSnapHelper) snapHelper;
       snapPosition = snap.getSnapPosition(layoutManager);
@@ -347,6 +858,42 @@ public class CarouselView extends FrameLayout {
 
   public void show() {
     this.validate();
-    this.setAdapter();
+    if (this.canReuseAdapter()) {
+      this.updateAdapter();
+    } else {
+      this.setAdapter();
+    }
+  }
+
+  static class SavedState extends BaseSavedState {
+
+    CarouselState state;
+
+    SavedState(Parcelable superState) {
+      super(superState);
+    }
+
+    SavedState(Parcel source) {
+      super(source);
+      this.state = source.readParcelable(CarouselState.class.getClassLoader());
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+      super.writeToParcel(dest, flags);
+      dest.writeParcelable(this.state, flags);
+    }
+
+    public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+      @Override
+      public SavedState createFromParcel(Parcel source) {
+        return new SavedState(source);
+      }
+
+      @Override
+      public SavedState[] newArray(int size) {
+        return new SavedState[size];
+      }
+    };
   }
 }
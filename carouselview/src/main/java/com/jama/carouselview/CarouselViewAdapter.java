@@ -1,5 +1,6 @@
 package com.jama.carouselview;
 
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -7,48 +8,185 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.jama.carouselview.image.CarouselImageLoader;
+
+import java.util.List;
+
 public class CarouselViewAdapter extends RecyclerView.Adapter<CarouselViewAdapter.CarouselAdapterViewHolder> {
 
   private CarouselViewListener carouselViewListener;
+  private SparseArray<CarouselViewListener> carouselViewListeners;
+  private CarouselViewTypeResolver viewTypeResolver;
+  private CarouselItemPreInflater preInflater;
+  private CarouselInflationCounter inflationCounter;
+  private CarouselListDiffer listDiffer;
+  private CarouselImageLoader imageLoader;
+  private CarouselModelCache modelCache;
+  private CarouselPager pager;
+  private CarouselMetrics metrics;
   private int resource;
   private int size;
-  private RecyclerView recyclerView;
-  private CarouselOffset carouselOffset;
-  private boolean isOffsetStart;
-  private int spacing;
 
-  CarouselViewAdapter(CarouselViewListener carouselViewListener, int resource, int size, RecyclerView recyclerView, int spacing, boolean isOffsetStart) {
+  CarouselViewAdapter(CarouselViewListener carouselViewListener, int resource, int size) {
+    this.carouselViewListener = carouselViewListener;
+    this.resource = resource;
+    this.size = size;
+  }
+
+  // returns whether the items were bound with something else before
+  boolean setBinding(CarouselViewListener carouselViewListener, int resource) {
+    boolean isChanged = this.carouselViewListener != carouselViewListener || this.resource != resource;
     this.carouselViewListener = carouselViewListener;
     this.resource = resource;
+    return isChanged;
+  }
+
+  void setSize(int size) {
     this.size = size;
-    this.recyclerView = recyclerView;
-    this.isOffsetStart = isOffsetStart;
-    this.spacing = spacing;
-    this.carouselOffset = new CarouselOffset();
+  }
+
+  // the list differ and model cache are registered with the adapter, so they can't be swapped on it
+  boolean hasDataSource(CarouselListDiffer listDiffer, CarouselModelCache modelCache, CarouselPager pager) {
+    return this.listDiffer == listDiffer && this.modelCache == modelCache && this.pager == pager;
+  }
+
+  void setViewTypes(CarouselViewTypeResolver viewTypeResolver, SparseArray<CarouselViewListener> carouselViewListeners) {
+    this.viewTypeResolver = viewTypeResolver;
+    this.carouselViewListeners = carouselViewListeners;
+  }
+
+  void setPreInflater(CarouselItemPreInflater preInflater) {
+    this.preInflater = preInflater;
+  }
+
+  void setInflationCounter(CarouselInflationCounter inflationCounter) {
+    this.inflationCounter = inflationCounter;
+  }
+
+  void setListDiffer(CarouselListDiffer listDiffer) {
+    this.listDiffer = listDiffer;
+    this.setHasStableIds(listDiffer != null);
+  }
+
+  void setImageLoader(CarouselImageLoader imageLoader) {
+    this.imageLoader = imageLoader;
+  }
+
+  void setModelCache(CarouselModelCache modelCache) {
+    this.modelCache = modelCache;
+  }
+
+  void setPager(CarouselPager pager) {
+    this.pager = pager;
+  }
+
+  void setMetrics(CarouselMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public long getItemId(int position) {
+    return this.listDiffer != null ? this.listDiffer.getItemId(position) : RecyclerView.NO_ID;
+  }
+
+  @Override
+  public int getItemViewType(int position) {
+    // the layout resource doubles as the view type, so holders are only recycled within a layout
+    return this.viewTypeResolver != null ? this.viewTypeResolver.getResource(position) : this.resource;
   }
 
   @NonNull
   @Override
   public CarouselAdapterViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-    View view = LayoutInflater.from(parent.getContext()).inflate(this.resource, parent, false);
-    return new CarouselAdapterViewHolder(view);
+    View view = this.preInflater != null ? this.preInflater.take(viewType) : null;
+    if (view != null) {
+      if (this.inflationCounter != null) this.inflationCounter.onWarm();
+    } else {
+      if (this.inflationCounter != null) this.inflationCounter.onCold();
+      long start = this.metrics != null ? System.nanoTime() : 0;
+      view = LayoutInflater.from(parent.getContext()).inflate(viewType, parent, false);
+      if (this.metrics != null) {
+        this.metrics.onInflated(System.nanoTime() - start);
+      }
+    }
+    CarouselAdapterViewHolder holder = new CarouselAdapterViewHolder(view);
+    holder.isCreated = true;
+    return holder;
   }
 
   @Override
   public void onBindViewHolder(@NonNull CarouselAdapterViewHolder holder, int position) {
-    if (this.carouselViewListener != null) {
-      this.carouselViewListener.onBindView(holder.itemView, position);
+    if (this.pager != null) {
+      this.pager.bind(holder.itemView, position);
+      return;
+    }
+    if (this.modelCache != null) {
+      this.modelCache.bind(holder.itemView, position);
+      return;
+    }
+    CarouselViewListener carouselViewListener = this.getCarouselViewListener(holder.getItemViewType());
+    if (carouselViewListener != null) {
+      carouselViewListener.onBindView(holder.itemView, position);
+    }
+  }
+
+  @Override
+  public void onBindViewHolder(@NonNull CarouselAdapterViewHolder holder, int position, @NonNull List<Object> payloads) {
+    if (this.metrics == null) {
+      this.bind(holder, position, payloads);
+      return;
+    }
+    long start = System.nanoTime();
+    this.bind(holder, position, payloads);
+    this.metrics.onBound(System.nanoTime() - start, holder.isCreated, holder.isRecycled);
+    holder.isCreated = false;
+    holder.isRecycled = false;
+  }
+
+  private void bind(CarouselAdapterViewHolder holder, int position, List<Object> payloads) {
+    if (payloads.isEmpty() || this.modelCache != null || this.pager != null) {
+      this.onBindViewHolder(holder, position);
+      return;
+    }
+    CarouselViewListener carouselViewListener = this.getCarouselViewListener(holder.getItemViewType());
+    if (carouselViewListener != null) {
+      carouselViewListener.onBindView(holder.itemView, position, payloads);
+    }
+  }
+
+  @Override
+  public void onViewRecycled(@NonNull CarouselAdapterViewHolder holder) {
+    super.onViewRecycled(holder);
+    // the holder goes to the recycled view pool, its next bind is a pool hit
+    holder.isRecycled = true;
+    CarouselLinearLayoutManager.onItemRecycled(holder.itemView);
+    if (this.modelCache != null) {
+      this.modelCache.onRecycled(holder.getBindingAdapterPosition());
+    }
+    if (this.pager != null) {
+      this.pager.onRecycled(holder.getBindingAdapterPosition());
+    }
+    if (this.imageLoader != null) {
+      this.imageLoader.cancel(holder.itemView);
     }
-    this.carouselOffset.init(recyclerView, holder.itemView, this.spacing, this.isOffsetStart);
   }
 
   @Override
   public int getItemCount() {
-    return this.size;
+    if (this.pager != null) return this.pager.getItemCount();
+    return this.listDiffer != null ? this.listDiffer.getItemCount() : this.size;
+  }
+
+  private CarouselViewListener getCarouselViewListener(int viewType) {
+    if (this.carouselViewListeners == null) return this.carouselViewListener;
+    return this.carouselViewListeners.get(viewType, this.carouselViewListener);
   }
 
   static class CarouselAdapterViewHolder extends RecyclerView.ViewHolder {
 
+   boolean isCreated;
+   boolean isRecycled;
+
    CarouselAdapterViewHolder(@NonNull View itemView) {
      super(itemView);
    }
@@ -2,8 +2,15 @@ package com.jama.carouselview;
 
 import android.view.View;
 
+import java.util.List;
+
 public interface CarouselViewListener {
 
   void onBindView(View view, int position);
 
+  // called instead of onBindView(View, int) when the item was changed with one or more payloads
+  default void onBindView(View view, int position, List<Object> payloads) {
+    onBindView(view, position);
+  }
+
 }
@@ -0,0 +1,10 @@
+package com.jama.carouselview;
+
+import androidx.annotation.LayoutRes;
+
+public interface CarouselViewTypeResolver {
+
+  @LayoutRes
+  int getResource(int position);
+
+}
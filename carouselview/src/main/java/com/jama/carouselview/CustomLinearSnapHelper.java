@@ -1,13 +1,74 @@
 package com.jama.carouselview;
 
 import android.view.View;
+import android.view.animation.DecelerateInterpolator;
+import android.widget.Scroller;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.LinearSnapHelper;
+import androidx.recyclerview.widget.OrientationHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.jama.carouselview.math.CarouselSnapMath;
+
 public class CustomLinearSnapHelper extends LinearSnapHelper {
 
+    private final CarouselPagingFling pagingFling = new CarouselPagingFling();
+    private final int[] snapDistance = new int[2];
+    private final int[] scrollDistance = new int[2];
+    private RecyclerView recyclerView;
+    private Scroller scroller;
+    private OrientationHelper helper;
+    private CarouselNavigator navigator;
+
+    @Override
+    public void attachToRecyclerView(@Nullable RecyclerView recyclerView) throws IllegalStateException {
+        this.recyclerView = recyclerView;
+        this.scroller = recyclerView != null ? new Scroller(recyclerView.getContext(), new DecelerateInterpolator()) : null;
+        super.attachToRecyclerView(recyclerView);
+    }
+
+    @Override
+    public boolean onFling(int velocityX, int velocityY) {
+        if(navigator == null || !navigator.isTracking()) {
+            return super.onFling(velocityX, velocityY);
+        }
+
+        int minFlingVelocity = recyclerView.getMinFlingVelocity();
+        if(Math.abs(velocityX) <= minFlingVelocity && Math.abs(velocityY) <= minFlingVelocity) {
+            return false;
+        }
+        int targetPosition = findTargetSnapPosition(recyclerView.getLayoutManager(), velocityX, velocityY);
+        return targetPosition != RecyclerView.NO_POSITION && navigator.smoothScrollToSnapPosition(targetPosition);
+    }
+
+    // the returned arrays are reused, callers only read them right away
+    @Override
+    public int[] calculateDistanceToFinalSnap(@NonNull RecyclerView.LayoutManager layoutManager, @NonNull View targetView) {
+        // the center of the item itself, the first and last items carry uneven insets
+        OrientationHelper helper = helper(layoutManager);
+        int orientation = CarouselOrientation.of(layoutManager);
+        int childCenter = CarouselOrientation.getStart(targetView, orientation) + CarouselOrientation.getExtent(targetView, orientation) / 2;
+        int containerCenter = helper.getStartAfterPadding() + helper.getTotalSpace() / 2;
+        snapDistance[0] = 0;
+        snapDistance[1] = 0;
+        snapDistance[CarouselOrientation.of(layoutManager)] = childCenter - containerCenter;
+        return snapDistance;
+    }
+
+    @Override
+    public int[] calculateScrollDistance(int velocityX, int velocityY) {
+        if(scroller == null) {
+            return super.calculateScrollDistance(velocityX, velocityY);
+        }
+        scroller.fling(0, 0, velocityX, velocityY, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        scrollDistance[0] = scroller.getFinalX();
+        scrollDistance[1] = scroller.getFinalY();
+        return scrollDistance;
+    }
+
     @Override
     public View findSnapView(RecyclerView.LayoutManager layoutManager) {
         if(layoutManager instanceof LinearLayoutManager) {
@@ -16,29 +77,64 @@ public class CustomLinearSnapHelper extends LinearSnapHelper {
                 return null;
             }
         }
+        if(navigator != null && navigator.canFindSnapView()) {
+            return navigator.findSnapView();
+        }
         return super.findSnapView(layoutManager);
     }
 
-    public int getSnapPosition(LinearLayoutManager layoutManager) {
-        if(layoutManager.findFirstCompletelyVisibleItemPosition() == 0) {
-            return 0;
+    @Override
+    public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+        int targetPosition = findPagingTargetSnapPosition(layoutManager, velocityX, velocityY);
+        if(targetPosition != RecyclerView.NO_POSITION && layoutManager instanceof CarouselLinearLayoutManager) {
+            ((CarouselLinearLayoutManager) layoutManager).setFlingTargetPosition(targetPosition);
         }
-        else if(layoutManager.findLastCompletelyVisibleItemPosition() == layoutManager.getItemCount() - 1) {
-            return layoutManager.getItemCount() - 1;
+        return targetPosition;
+    }
+
+    private int findPagingTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+        if(!pagingFling.isEnabled()) {
+            return super.findTargetSnapPosition(layoutManager, velocityX, velocityY);
+        }
+
+        View snapView = super.findSnapView(layoutManager);
+        if(snapView == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        int[] distance = calculateScrollDistance(velocityX, velocityY);
+        return pagingFling.findTargetSnapPosition(layoutManager, snapView, distance[CarouselOrientation.of(layoutManager)]);
+    }
+
+    void setMaxFlingPages(int maxFlingPages) {
+        pagingFling.setMaxPages(maxFlingPages);
+    }
+
+    void setNavigator(CarouselNavigator navigator) {
+        this.navigator = navigator;
+        pagingFling.setCarouselOffset(navigator.getCarouselOffset());
+    }
+
+    private OrientationHelper helper(RecyclerView.LayoutManager layoutManager) {
+        if(helper == null || helper.getLayoutManager() != layoutManager) {
+            helper = CarouselOrientation.createHelper(layoutManager);
         }
-        else {
-            View snapView = findSnapView(layoutManager);
+        return helper;
+    }
+
+    public int getSnapPosition(LinearLayoutManager layoutManager) {
+        int first = layoutManager.findFirstCompletelyVisibleItemPosition();
+        int last = layoutManager.findLastCompletelyVisibleItemPosition();
+        int snapViewPosition = CarouselSnapMath.NO_POSITION;
+        if(CarouselSnapMath.needsSnap(first, last, layoutManager.getItemCount())) {
+            View snapView = super.findSnapView(layoutManager);
             if(snapView != null) {
-                return layoutManager.getPosition(snapView);
-            }
-            else {
-                return -1;
+                snapViewPosition = layoutManager.getPosition(snapView);
             }
         }
+        return CarouselSnapMath.getSnapPosition(first, last, layoutManager.getItemCount(), snapViewPosition);
     }
 
     public boolean needToDoSnap(LinearLayoutManager linearLayoutManager){
-        boolean result = linearLayoutManager.findFirstCompletelyVisibleItemPosition() != 0 && linearLayoutManager.findLastCompletelyVisibleItemPosition() != linearLayoutManager.getItemCount() - 1;
-        return result;
+        return CarouselSnapMath.needsSnap(linearLayoutManager.findFirstCompletelyVisibleItemPosition(), linearLayoutManager.findLastCompletelyVisibleItemPosition(), linearLayoutManager.getItemCount());
     }
 }
@@ -0,0 +1,59 @@
+package com.jama.carouselview.image;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.ArrayDeque;
+
+class CarouselBitmapPool {
+
+  private final ArrayDeque<Bitmap> bitmaps = new ArrayDeque<>();
+  private final int maxBytes;
+  private int bytes;
+
+  CarouselBitmapPool(int maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  static int getByteCount(Bitmap bitmap) {
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ? bitmap.getAllocationByteCount() : bitmap.getByteCount();
+  }
+
+  static boolean canReuseBitmaps() {
+    // before kitkat inBitmap only takes bitmaps of the exact decoded size
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT;
+  }
+
+  synchronized void put(Bitmap bitmap) {
+    if (!canReuseBitmaps() || !bitmap.isMutable() || bitmap.isRecycled()) return;
+    int byteCount = getByteCount(bitmap);
+    if (byteCount > this.maxBytes) return;
+
+    this.bitmaps.addLast(bitmap);
+    this.bytes += byteCount;
+    while (this.bytes > this.maxBytes) {
+      this.bytes -= getByteCount(this.bitmaps.removeFirst());
+    }
+  }
+
+  // the smallest pooled bitmap with room for the given byte count
+  synchronized Bitmap get(int byteCount) {
+    Bitmap best = null;
+    for (Bitmap bitmap : this.bitmaps) {
+      int size = getByteCount(bitmap);
+      if (size >= byteCount && (best == null || size < getByteCount(best))) {
+        best = bitmap;
+      }
+    }
+    if (best != null) {
+      this.bitmaps.removeFirstOccurrence(best);
+      this.bytes -= getByteCount(best);
+    }
+    return best;
+  }
+
+  synchronized void clear() {
+    this.bitmaps.clear();
+    this.bytes = 0;
+  }
+}
@@ -0,0 +1,285 @@
+package com.jama.carouselview.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.DisplayMetrics;
+import android.util.LruCache;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+import com.jama.carouselview.R;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+public class CarouselImageLoader {
+
+  private static final int DECODE_THREADS = 2;
+
+  private static Executor sharedExecutor;
+
+  private final Context context;
+  private final Executor executor;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final CarouselBitmapPool bitmapPool;
+  private final LruCache<String, Bitmap> memoryCache;
+  // bitmaps shown by image views, and evicted ones that go to the pool once no view shows them
+  private final HashMap<Bitmap, Integer> displayCounts = new HashMap<>();
+  private final HashSet<Bitmap> evicted = new HashSet<>();
+
+  public CarouselImageLoader(@NonNull Context context) {
+    this(context, (int) (Runtime.getRuntime().maxMemory() / 8));
+  }
+
+  public CarouselImageLoader(@NonNull Context context, int maxCacheBytes) {
+    this(context, maxCacheBytes, getSharedExecutor());
+  }
+
+  public CarouselImageLoader(@NonNull Context context, int maxCacheBytes, @NonNull Executor executor) {
+    this.context = context.getApplicationContext();
+    this.executor = executor;
+    this.bitmapPool = new CarouselBitmapPool(maxCacheBytes / 4);
+    this.memoryCache = new LruCache<String, Bitmap>(maxCacheBytes) {
+      @Override
+      protected int sizeOf(String key, Bitmap bitmap) {
+        return CarouselBitmapPool.getByteCount(bitmap);
+      }
+
+      @Override
+      protected void entryRemoved(boolean isEvicted, String key, Bitmap oldBitmap, Bitmap newBitmap) {
+        if (displayCounts.containsKey(oldBitmap)) {
+          evicted.add(oldBitmap);
+        } else {
+          bitmapPool.put(oldBitmap);
+        }
+      }
+    };
+  }
+
+  // one pool for all loaders, so loaders made per screen don't each leave their decode threads behind
+  private static synchronized Executor getSharedExecutor() {
+    if (sharedExecutor == null) {
+      sharedExecutor = Executors.newFixedThreadPool(DECODE_THREADS, runnable -> new Thread(() -> {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        runnable.run();
+      }, "CarouselImageLoader"));
+    }
+    return sharedExecutor;
+  }
+
+  public void load(@NonNull ImageView imageView, int resource) {
+    this.load(imageView, new Request("res:" + resource) {
+      @Override
+      InputStream open() {
+        return context.getResources().openRawResource(resource);
+      }
+    });
+  }
+
+  public void load(@NonNull ImageView imageView, @NonNull File file) {
+    this.load(imageView, new Request("file:" + file.getAbsolutePath()) {
+      @Override
+      InputStream open() throws IOException {
+        return new FileInputStream(file);
+      }
+    });
+  }
+
+  public void load(@NonNull ImageView imageView, @NonNull Uri uri) {
+    this.load(imageView, new Request(uri.toString()) {
+      @Override
+      InputStream open() throws IOException {
+        return context.getContentResolver().openInputStream(uri);
+      }
+    });
+  }
+
+  // cancels the decodes of the image views in the given view, e.g. an item that got recycled
+  public void cancel(@NonNull View view) {
+    if (view instanceof ImageView) {
+      ImageView imageView = (ImageView) view;
+      this.cancelRequest(imageView);
+      this.show(imageView, null);
+    } else if (view instanceof ViewGroup) {
+      ViewGroup viewGroup = (ViewGroup) view;
+      for (int i = 0; i < viewGroup.getChildCount(); i++) {
+        this.cancel(viewGroup.getChildAt(i));
+      }
+    }
+  }
+
+  public void clearMemory() {
+    this.memoryCache.evictAll();
+    this.bitmapPool.clear();
+  }
+
+  private void load(ImageView imageView, Request request) {
+    this.cancelRequest(imageView);
+    request.setTargetSize(this.getTargetWidth(imageView), this.getTargetHeight(imageView));
+
+    Bitmap cached = this.memoryCache.get(request.key);
+    if (cached != null) {
+      this.show(imageView, cached);
+      return;
+    }
+
+    this.show(imageView, null);
+    imageView.setTag(R.id.carousel_image_request, request);
+    this.executor.execute(() -> {
+      if (request.isCancelled) return;
+      Bitmap bitmap = request.decode(this.bitmapPool);
+      this.mainHandler.post(() -> this.deliver(imageView, request, bitmap));
+    });
+  }
+
+  private void deliver(ImageView imageView, Request request, Bitmap bitmap) {
+    if (bitmap == null) return;
+    this.memoryCache.put(request.key, bitmap);
+    if (imageView.getTag(R.id.carousel_image_request) == request) {
+      imageView.setTag(R.id.carousel_image_request, null);
+      this.show(imageView, bitmap);
+    }
+  }
+
+  private void cancelRequest(ImageView imageView) {
+    Request request = (Request) imageView.getTag(R.id.carousel_image_request);
+    if (request != null) {
+      request.isCancelled = true;
+      imageView.setTag(R.id.carousel_image_request, null);
+    }
+  }
+
+  private void show(ImageView imageView, Bitmap bitmap) {
+    Bitmap shown = (Bitmap) imageView.getTag(R.id.carousel_image_bitmap);
+    if (shown == bitmap) return;
+
+    if (bitmap != null) {
+      imageView.setImageBitmap(bitmap);
+      Integer count = this.displayCounts.get(bitmap);
+      this.displayCounts.put(bitmap, count != null ? count + 1 : 1);
+    } else {
+      imageView.setImageDrawable(null);
+    }
+    imageView.setTag(R.id.carousel_image_bitmap, bitmap);
+
+    if (shown != null) {
+      Integer count = this.displayCounts.get(shown);
+      if (count != null && count > 1) {
+        this.displayCounts.put(shown, count - 1);
+      } else {
+        this.displayCounts.remove(shown);
+        if (this.evicted.remove(shown)) {
+          this.bitmapPool.put(shown);
+        }
+      }
+    }
+  }
+
+  // decodes at the size the view is laid out with, falling back to its layout params and then the screen
+  private int getTargetWidth(ImageView imageView) {
+    if (imageView.getWidth() > 0) return imageView.getWidth();
+    ViewGroup.LayoutParams params = imageView.getLayoutParams();
+    if (params != null && params.width > 0) return params.width;
+    return this.getDisplayMetrics().widthPixels;
+  }
+
+  private int getTargetHeight(ImageView imageView) {
+    if (imageView.getHeight() > 0) return imageView.getHeight();
+    ViewGroup.LayoutParams params = imageView.getLayoutParams();
+    if (params != null && params.height > 0) return params.height;
+    return this.getDisplayMetrics().heightPixels;
+  }
+
+  private DisplayMetrics getDisplayMetrics() {
+    return this.context.getResources().getDisplayMetrics();
+  }
+
+  private abstract static class Request {
+
+    String key;
+    int targetWidth;
+    int targetHeight;
+    volatile boolean isCancelled;
+
+    Request(String source) {
+      this.key = source;
+    }
+
+    abstract InputStream open() throws IOException;
+
+    void setTargetSize(int targetWidth, int targetHeight) {
+      this.targetWidth = targetWidth;
+      this.targetHeight = targetHeight;
+      this.key += "@" + targetWidth + "x" + targetHeight;
+    }
+
+    Bitmap decode(CarouselBitmapPool bitmapPool) {
+      BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inJustDecodeBounds = true;
+      this.decode(options);
+      if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+
+      options.inJustDecodeBounds = false;
+      options.inSampleSize = getSampleSize(options.outWidth, options.outHeight, this.targetWidth, this.targetHeight);
+      options.inMutable = true;
+      if (CarouselBitmapPool.canReuseBitmaps()) {
+        int width = (options.outWidth + options.inSampleSize - 1) / options.inSampleSize;
+        int height = (options.outHeight + options.inSampleSize - 1) / options.inSampleSize;
+        options.inBitmap = bitmapPool.get(width * height * 4);
+      }
+
+      if (this.isCancelled) {
+        if (options.inBitmap != null) bitmapPool.put(options.inBitmap);
+        return null;
+      }
+
+      try {
+        return this.decode(options);
+      } catch (IllegalArgumentException e) {
+        // the pooled bitmap didn't fit after all, decode into a new one
+        options.inBitmap = null;
+        return this.decode(options);
+      }
+    }
+
+    private Bitmap decode(BitmapFactory.Options options) {
+      InputStream stream = null;
+      try {
+        stream = this.open();
+        return stream != null ? BitmapFactory.decodeStream(stream, null, options) : null;
+      } catch (IOException e) {
+        return null;
+      } finally {
+        if (stream != null) {
+          try {
+            stream.close();
+          } catch (IOException ignored) {
+          }
+        }
+      }
+    }
+
+    // the largest power of two that keeps the image at least as big as the target
+    static int getSampleSize(int width, int height, int targetWidth, int targetHeight) {
+      int sampleSize = 1;
+      while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+        sampleSize *= 2;
+      }
+      return sampleSize;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.jama.carouselview.math;
+
+public final class CarouselInsetMath {
+
+  private CarouselInsetMath() {
+  }
+
+  // lets the first and last items reach the center of the parent, once an item was measured
+  public static int getEdgeInset(int parentExtent, int itemExtent) {
+    return itemExtent > 0 ? parentExtent / 2 - itemExtent / 2 : 0;
+  }
+
+  public static int getStartInset(int position, int spacing, int itemExtent, int parentExtent) {
+    if (position == 0) return getEdgeInset(parentExtent, itemExtent);
+    return itemExtent > 0 ? spacing / 2 : 0;
+  }
+
+  public static int getEndInset(int position, int itemCount, int spacing, int itemExtent, int parentExtent) {
+    if (position == itemCount - 1) return getEdgeInset(parentExtent, itemExtent);
+    return itemExtent > 0 ? spacing / 2 : spacing;
+  }
+}
@@ -0,0 +1,34 @@
+package com.jama.carouselview.math;
+
+public final class CarouselSnapMath {
+
+  public static final int NO_POSITION = -1;
+
+  private CarouselSnapMath() {
+  }
+
+  // index of the first of the given starts closest to the anchor line
+  public static int findClosest(int[] starts, int count, int anchor) {
+    int closest = NO_POSITION;
+    int absClosest = Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      int absDistance = Math.abs(starts[i] - anchor);
+      if (absDistance < absClosest) {
+        absClosest = absDistance;
+        closest = i;
+      }
+    }
+    return closest;
+  }
+
+  // once the first or last item is fully shown the carousel can't scroll it any closer to the anchor
+  public static boolean needsSnap(int firstCompletelyVisible, int lastCompletelyVisible, int itemCount) {
+    return firstCompletelyVisible != 0 && lastCompletelyVisible != itemCount - 1;
+  }
+
+  public static int getSnapPosition(int firstCompletelyVisible, int lastCompletelyVisible, int itemCount, int snapViewPosition) {
+    if (firstCompletelyVisible == 0) return 0;
+    if (lastCompletelyVisible == itemCount - 1) return itemCount - 1;
+    return snapViewPosition;
+  }
+}
@@ -0,0 +1,19 @@
+package com.jama.carouselview.math;
+
+public final class CarouselTransformMath {
+
+  private CarouselTransformMath() {
+  }
+
+  // distance of the item center from the anchor, in halves of the anchor, NaN while nothing is measured
+  public static float getDistance(int childStart, int childExtent, int parentExtent, boolean isOffsetStart) {
+    float childExtentHalf = childExtent / 2.f;
+    float anchor = isOffsetStart ? childExtentHalf : parentExtent / 2.f;
+    if (anchor <= 0) return Float.NaN;
+    return (childStart + childExtentHalf - anchor) / anchor;
+  }
+
+  public static float getScale(float distance, float shrinkDistance, float shrinkPerDistance) {
+    return 1.f - shrinkPerDistance * Math.min(shrinkDistance, Math.abs(distance));
+  }
+}
@@ -0,0 +1,27 @@
+package com.jama.carouselview.transformers;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.jama.carouselview.CarouselItemTransformer;
+
+public class AlphaItemTransformer implements CarouselItemTransformer {
+
+  private final float fadeDistance;
+  private final float fadePerDistance;
+
+  public AlphaItemTransformer() {
+    this(1.f, .5f);
+  }
+
+  public AlphaItemTransformer(float fadeDistance, float minAlpha) {
+    this.fadeDistance = fadeDistance;
+    this.fadePerDistance = (1.f - minAlpha) / fadeDistance;
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance) {
+    item.setAlpha(1.f - this.fadePerDistance * Math.min(this.fadeDistance, Math.abs(distance)));
+  }
+}
@@ -0,0 +1,30 @@
+package com.jama.carouselview.transformers;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.jama.carouselview.CarouselItemTransformer;
+
+public class CompositeItemTransformer implements CarouselItemTransformer {
+
+  private final CarouselItemTransformer[] transformers;
+
+  public CompositeItemTransformer(@NonNull CarouselItemTransformer... transformers) {
+    this.transformers = transformers.clone();
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance) {
+    for (CarouselItemTransformer transformer : this.transformers) {
+      transformer.transformItem(item, distance);
+    }
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance, int orientation) {
+    for (CarouselItemTransformer transformer : this.transformers) {
+      transformer.transformItem(item, distance, orientation);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.jama.carouselview.transformers;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.core.view.ViewCompat;
+
+import com.jama.carouselview.CarouselItemTransformer;
+
+public class ElevationItemTransformer implements CarouselItemTransformer {
+
+  private final float maxElevation;
+  private final float elevationDistance;
+  private final float elevationPerDistance;
+
+  public ElevationItemTransformer(float maxElevation) {
+    this(1.f, maxElevation);
+  }
+
+  public ElevationItemTransformer(float elevationDistance, float maxElevation) {
+    this.maxElevation = maxElevation;
+    this.elevationDistance = elevationDistance;
+    this.elevationPerDistance = maxElevation / elevationDistance;
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance) {
+    ViewCompat.setElevation(item, this.maxElevation - this.elevationPerDistance * Math.min(this.elevationDistance, Math.abs(distance)));
+  }
+}
@@ -0,0 +1,46 @@
+package com.jama.carouselview.transformers;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.jama.carouselview.CarouselItemTransformer;
+
+public class RotationItemTransformer implements CarouselItemTransformer {
+
+  private final float rotationDistance;
+  private final float rotationPerDistance;
+  private final int orientation;
+
+  public RotationItemTransformer() {
+    this(1.f, 30.f);
+  }
+
+  public RotationItemTransformer(float rotationDistance, float maxRotation) {
+    this(rotationDistance, maxRotation, RecyclerView.HORIZONTAL);
+  }
+
+  // items rotate around the axis across the carousel orientation, in a carousel the orientation is the one it has,
+  // the given one is only used when transformItem is called without it
+  public RotationItemTransformer(float rotationDistance, float maxRotation, int orientation) {
+    this.rotationDistance = rotationDistance;
+    this.rotationPerDistance = maxRotation / rotationDistance;
+    this.orientation = orientation;
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance) {
+    this.transformItem(item, distance, this.orientation);
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance, int orientation) {
+    float clamped = Math.max(-this.rotationDistance, Math.min(this.rotationDistance, distance));
+    if (orientation == RecyclerView.VERTICAL) {
+      item.setRotationX(this.rotationPerDistance * clamped);
+    } else {
+      item.setRotationY(-this.rotationPerDistance * clamped);
+    }
+  }
+}
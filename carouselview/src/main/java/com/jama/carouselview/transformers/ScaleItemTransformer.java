@@ -0,0 +1,30 @@
+package com.jama.carouselview.transformers;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.jama.carouselview.CarouselItemTransformer;
+import com.jama.carouselview.math.CarouselTransformMath;
+
+public class ScaleItemTransformer implements CarouselItemTransformer {
+
+  private final float shrinkDistance;
+  private final float shrinkPerDistance;
+
+  public ScaleItemTransformer() {
+    this(.40f, .28f);
+  }
+
+  public ScaleItemTransformer(float shrinkDistance, float shrinkAmount) {
+    this.shrinkDistance = shrinkDistance;
+    this.shrinkPerDistance = shrinkAmount / shrinkDistance;
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance) {
+    float scale = CarouselTransformMath.getScale(distance, this.shrinkDistance, this.shrinkPerDistance);
+    item.setScaleX(scale);
+    item.setScaleY(scale);
+  }
+}
@@ -0,0 +1,46 @@
+package com.jama.carouselview.transformers;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.jama.carouselview.CarouselItemTransformer;
+
+public class TranslationItemTransformer implements CarouselItemTransformer {
+
+  private final float translationDistance;
+  private final float translationPerDistance;
+  private final int orientation;
+
+  public TranslationItemTransformer(float maxTranslation) {
+    this(1.f, maxTranslation);
+  }
+
+  public TranslationItemTransformer(float translationDistance, float maxTranslation) {
+    this(translationDistance, maxTranslation, RecyclerView.HORIZONTAL);
+  }
+
+  // moves items away from the anchor across the carousel orientation by up to maxTranslation pixels, in a carousel
+  // the orientation is the one it has, the given one is only used when transformItem is called without it
+  public TranslationItemTransformer(float translationDistance, float maxTranslation, int orientation) {
+    this.translationDistance = translationDistance;
+    this.translationPerDistance = maxTranslation / translationDistance;
+    this.orientation = orientation;
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance) {
+    this.transformItem(item, distance, this.orientation);
+  }
+
+  @Override
+  public void transformItem(@NonNull View item, float distance, int orientation) {
+    float translation = this.translationPerDistance * Math.min(this.translationDistance, Math.abs(distance));
+    if (orientation == RecyclerView.VERTICAL) {
+      item.setTranslationX(translation);
+    } else {
+      item.setTranslationY(translation);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.jama.carouselview;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.LinearSnapHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.jama.carouselview.enums.OffsetType;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Replays a drag and fling trace over a centered, snapping and scaling carousel and checks that its scroll and snap
+ * paths allocate no more than a plain RecyclerView does on the same trace.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CarouselAllocationTest {
+
+  private static final int WIDTH = 360;
+  private static final int HEIGHT = 200;
+  private static final int ITEM_EXTENT = 100;
+  private static final int ITEM_COUNT = 200;
+  private static final int SPACING = 20;
+  private static final int FLING_VELOCITY = 4000;
+
+  // what the shadows of Robolectric allocate is in the plain RecyclerView as well, so only the bytes the carousel
+  // allocates on top of it count. Those may only come from the view properties the item transformer sets
+  private static final long FRAME_SLACK = 256;
+  // the snap helper of the carousel computes its target from the tracked scroll instead of the laid out children
+  private static final long FLING_SLACK = 1024;
+  private static final int MAX_SETTLE_TASKS = 1000;
+
+  private com.sun.management.ThreadMXBean threadBean;
+
+  @Before
+  public void setUp() {
+    this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(this.threadBean.isThreadAllocatedMemorySupported());
+    this.threadBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void scrollTraceStaysWithinFrameBudget() {
+    long control = this.measureTrace(this.showRecyclerView());
+    long maxFrame = this.measureTrace(this.showCarousel());
+
+    assertTrue("a scrolled frame allocated " + maxFrame + " bytes, " + control + " without the carousel", maxFrame <= control + FRAME_SLACK);
+  }
+
+  @Test
+  public void flingSnapStaysWithinBudget() {
+    long[] control = this.measureFling(this.showRecyclerView());
+    long[] fling = this.measureFling(this.showCarousel());
+
+    assertTrue("starting a fling allocated " + fling[0] + " bytes, " + control[0] + " without the carousel", fling[0] <= control[0] + FLING_SLACK);
+    assertTrue("a settling frame allocated " + fling[1] + " bytes, " + control[1] + " without the carousel", fling[1] <= control[1] + FRAME_SLACK);
+  }
+
+  private RecyclerView showCarousel() {
+    Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+    CarouselView carouselView = new CarouselView(activity, android.R.layout.simple_list_item_1, ITEM_COUNT);
+    carouselView.setCarouselViewListener((view, position) -> sizeItem(view));
+    carouselView.setCarouselOffset(OffsetType.CENTER);
+    carouselView.enableSnapping(true);
+    carouselView.setScaleOnScroll(true);
+    carouselView.setSpacing(SPACING);
+    activity.setContentView(carouselView, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+    carouselView.show();
+    this.layout(carouselView);
+    return carouselView.findViewById(R.id.carouselRecyclerView);
+  }
+
+  private RecyclerView showRecyclerView() {
+    Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+    RecyclerView recyclerView = new RecyclerView(activity);
+    recyclerView.setLayoutManager(new LinearLayoutManager(activity, RecyclerView.HORIZONTAL, false));
+    recyclerView.setAdapter(new ItemAdapter());
+    new LinearSnapHelper().attachToRecyclerView(recyclerView);
+    activity.setContentView(recyclerView, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+    this.layout(recyclerView);
+    return recyclerView;
+  }
+
+  // the second replay starts with every holder the trace needs created
+  private long measureTrace(RecyclerView recyclerView) {
+    int[] trace = scrollTrace();
+    this.replay(recyclerView, trace);
+    return this.replay(recyclerView, trace);
+  }
+
+  // what starting the second fling allocated, and the most any one of its settle frames did
+  private long[] measureFling(RecyclerView recyclerView) {
+    this.replay(recyclerView, scrollTrace());
+    this.fling(recyclerView);
+    this.settle(recyclerView);
+
+    long allocated = this.fling(recyclerView);
+    long maxFrame = this.settle(recyclerView);
+    return new long[] { allocated, maxFrame };
+  }
+
+  // the most any one frame of the trace allocated
+  private long replay(RecyclerView recyclerView, int[] trace) {
+    long maxFrame = 0;
+    for (int dx : trace) {
+      long before = this.allocatedBytes();
+      recyclerView.scrollBy(dx, 0);
+      maxFrame = Math.max(maxFrame, this.allocatedBytes() - before);
+    }
+    return maxFrame;
+  }
+
+  // goes through the fling listener the snap helper set, as a lifted finger does
+  private long fling(RecyclerView recyclerView) {
+    long before = this.allocatedBytes();
+    boolean isFlung = recyclerView.fling(FLING_VELOCITY, 0);
+    long allocated = this.allocatedBytes() - before;
+    assertTrue("the fling didn't start", isFlung);
+    return allocated;
+  }
+
+  // runs the animation frames of the fling one at a time until it settled, and returns the most any one allocated
+  private long settle(RecyclerView recyclerView) {
+    ShadowLooper looper = shadowOf(Looper.getMainLooper());
+    long maxFrame = 0;
+    for (int i = 0; i < MAX_SETTLE_TASKS && recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE; i++) {
+      long before = this.allocatedBytes();
+      looper.runOneTask();
+      maxFrame = Math.max(maxFrame, this.allocatedBytes() - before);
+    }
+    assertTrue("the fling didn't settle", recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE);
+    return maxFrame;
+  }
+
+  private long allocatedBytes() {
+    return this.threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  // the second layout applies the edge insets of the measured items
+  private void layout(View view) {
+    this.measureAndLayout(view);
+    shadowOf(Looper.getMainLooper()).idle();
+    this.measureAndLayout(view);
+  }
+
+  private void measureAndLayout(View view) {
+    view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY), View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+    view.layout(0, 0, WIDTH, HEIGHT);
+  }
+
+  // both get the same items, sized on the params they were inflated with so binding allocates nothing
+  private static void sizeItem(View view) {
+    ViewGroup.LayoutParams params = view.getLayoutParams();
+    params.width = ITEM_EXTENT;
+    params.height = ITEM_EXTENT;
+  }
+
+  // a slow drag followed by a decelerating fling, as per frame scroll deltas
+  private static int[] scrollTrace() {
+    int[] trace = new int[120];
+    float velocity = 12;
+    for (int frame = 0; frame < trace.length; frame++) {
+      if (frame == 30) velocity = 90;
+      if (frame > 30) velocity = Math.max(1, velocity * .96f);
+      trace[frame] = (int) velocity;
+    }
+    return trace;
+  }
+
+  private static class ItemAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+      View view = LayoutInflater.from(parent.getContext()).inflate(android.R.layout.simple_list_item_1, parent, false);
+      return new RecyclerView.ViewHolder(view) {
+      };
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+      sizeItem(holder.itemView);
+    }
+
+    @Override
+    public int getItemCount() {
+      return ITEM_COUNT;
+    }
+  }
+}